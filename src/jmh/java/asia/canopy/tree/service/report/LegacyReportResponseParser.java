@@ -0,0 +1,102 @@
+package asia.canopy.tree.service.report;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 비교용: 기존 MonthlyReportService의 응답 파싱 방식 (JsonNode 트리 + split/정규식 + valueToTree)
+ */
+class LegacyReportResponseParser {
+
+    private final ObjectMapper objectMapper;
+
+    LegacyReportResponseParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    String extractText(String response) throws JsonProcessingException {
+        JsonNode rootNode = objectMapper.readTree(response);
+        JsonNode candidates = rootNode.path("candidates");
+
+        if (candidates.isArray() && candidates.size() > 0) {
+            JsonNode content = candidates.get(0).path("content");
+            if (content.has("parts") && content.get("parts").isArray() && content.get("parts").size() > 0) {
+                return content.get("parts").get(0).path("text").asText();
+            }
+        }
+        return null;
+    }
+
+    JsonNode parseEmotionAnalysis(String text) {
+        List<String> keywords = new ArrayList<>();
+        StringBuilder summary = new StringBuilder();
+        boolean inKeywords = true;
+
+        for (String line : text.split("\\n")) {
+            line = line.trim();
+            if (line.isEmpty()) continue;
+
+            if (line.startsWith("-") || line.startsWith("*") || line.startsWith("•")) {
+                if (inKeywords) {
+                    String keyword = line.replaceFirst("^[-*•]\\s*", "").trim();
+                    keywords.add(keyword);
+                }
+            } else {
+                inKeywords = false;
+                if (summary.length() > 0) summary.append(" ");
+                summary.append(line);
+            }
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("keywords", keywords);
+        result.put("summary", summary.toString());
+
+        return objectMapper.valueToTree(result);
+    }
+
+    JsonNode parseRiskAnalysis(String text) {
+        boolean hasRisk = text.contains("[MENTAL_HEALTH_RISK: YES]");
+        String analysis = text
+                .replace("[MENTAL_HEALTH_RISK: YES]", "")
+                .replace("[MENTAL_HEALTH_RISK: NO]", "")
+                .trim();
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("risk_analysis", analysis);
+        result.put("has_mental_health_risk", hasRisk);
+
+        return objectMapper.valueToTree(result);
+    }
+
+    JsonNode parseOverview(String text) {
+        String oneLineSummary = "";
+        StringBuilder paragraphSummary = new StringBuilder();
+
+        for (String line : text.split("\\n")) {
+            line = line.trim();
+            if (line.isEmpty()) continue;
+
+            if (line.startsWith("ONE_LINE_SUMMARY:")) {
+                oneLineSummary = line.replace("ONE_LINE_SUMMARY:", "").trim();
+            } else if (line.startsWith("PARAGRAPH_SUMMARY:")) {
+                String paragraph = line.replace("PARAGRAPH_SUMMARY:", "").trim();
+                paragraphSummary.append(paragraph);
+            } else if (paragraphSummary.length() > 0) {
+                paragraphSummary.append(" ").append(line);
+            }
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("one_line_summary", oneLineSummary);
+        result.put("overview", paragraphSummary.toString());
+
+        return objectMapper.valueToTree(result);
+    }
+}
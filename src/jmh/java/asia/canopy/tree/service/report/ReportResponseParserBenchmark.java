@@ -0,0 +1,87 @@
+package asia.canopy.tree.service.report;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini 응답 파싱 비교: 기존 방식(트리 + 정규식 + valueToTree) vs 스트리밍 추출 + 레코드 파서
+ * 각 벤치마크는 API 응답 JSON에서 텍스트를 꺼내 단계 결과로 변환하는 전체 과정을 측정합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ReportResponseParserBenchmark {
+
+    private ObjectMapper objectMapper;
+    private LegacyReportResponseParser legacyParser;
+
+    private String emotionResponse;
+    private String riskResponse;
+    private String overviewResponse;
+
+    @Setup
+    public void setup() throws Exception {
+        objectMapper = new ObjectMapper();
+        legacyParser = new LegacyReportResponseParser(objectMapper);
+
+        String paragraph = "This month began with a noticeable sense of fatigue and restlessness, as the user described " +
+                "long days at work and difficulty winding down in the evening. Around the middle of the month the tone " +
+                "shifted toward cautious optimism after a weekend trip with friends, and the final week showed steadier " +
+                "routines, more reflection on small joys, and a growing sense of gratitude.";
+
+        emotionResponse = geminiResponse("- tired\n- anxious\n- hopeful\n- grateful\n\n" + paragraph + "\n" + paragraph);
+        riskResponse = geminiResponse(paragraph + "\n\n" + paragraph + "\n\n[MENTAL_HEALTH_RISK: YES]");
+        overviewResponse = geminiResponse("ONE_LINE_SUMMARY: A month of quiet recovery\nPARAGRAPH_SUMMARY: " +
+                paragraph + "\n" + paragraph);
+    }
+
+    private String geminiResponse(String text) throws Exception {
+        // 실제 응답과 비슷하게 텍스트 뒤에 부가 필드 포함
+        return objectMapper.writeValueAsString(Map.of(
+                "candidates", List.of(Map.of(
+                        "content", Map.of("parts", List.of(Map.of("text", text)), "role", "model"),
+                        "finishReason", "STOP",
+                        "safetyRatings", List.of(
+                                Map.of("category", "HARM_CATEGORY_HARASSMENT", "probability", "NEGLIGIBLE"),
+                                Map.of("category", "HARM_CATEGORY_HATE_SPEECH", "probability", "NEGLIGIBLE")))),
+                "usageMetadata", Map.of("promptTokenCount", 3120, "candidatesTokenCount", 412, "totalTokenCount", 3532)));
+    }
+
+    @Benchmark
+    public JsonNode legacyEmotion() throws Exception {
+        return legacyParser.parseEmotionAnalysis(legacyParser.extractText(emotionResponse));
+    }
+
+    @Benchmark
+    public EmotionAnalysis streamingEmotion() throws Exception {
+        return ReportResponseParser.parseEmotion(
+                GeminiResponseTextExtractor.extract(objectMapper.getFactory(), emotionResponse));
+    }
+
+    @Benchmark
+    public JsonNode legacyRisk() throws Exception {
+        return legacyParser.parseRiskAnalysis(legacyParser.extractText(riskResponse));
+    }
+
+    @Benchmark
+    public RiskAnalysis streamingRisk() throws Exception {
+        return ReportResponseParser.parseRisk(
+                GeminiResponseTextExtractor.extract(objectMapper.getFactory(), riskResponse));
+    }
+
+    @Benchmark
+    public JsonNode legacyOverview() throws Exception {
+        return legacyParser.parseOverview(legacyParser.extractText(overviewResponse));
+    }
+
+    @Benchmark
+    public OverviewSummary streamingOverview() throws Exception {
+        return ReportResponseParser.parseOverview(
+                GeminiResponseTextExtractor.extract(objectMapper.getFactory(), overviewResponse));
+    }
+}
@@ -0,0 +1,95 @@
+package asia.canopy.tree.service.report;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 위험 사전 검사 처리량: Aho-Corasick 한 번 순회 vs 단어마다 indexOf로 반복 검색
+ * 한 달치(30일 x 3개 시간대) 합성 일기를 검사하는 횟수를 측정합니다.
+ * 순회 비용은 단어 수와 무관해야 하므로 사전 크기를 기본 사전과 10배 확장 사전으로 나눠 측정합니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class RiskScreenerBenchmark {
+
+    private static final String[] SENTENCES = {
+            "오늘은 아침 일찍 일어나서 산책을 하고 커피를 마셨다.",
+            "회사에서 회의가 길어져서 점심을 늦게 먹었다.",
+            "친구와 저녁을 먹으면서 오랜만에 많이 웃었다.",
+            "요즘 잠이 안 와서 새벽까지 휴대폰을 봤다.",
+            "괜히 불안하고 마음이 가라앉는 하루였다.",
+            "주말에는 가족과 함께 공원에 가기로 했다.",
+            "Today I felt a little lonely after work, but music helped.",
+            "I finished a book I had been reading for weeks and felt proud.",
+            "가끔은 다 쓸모없다는 생각이 들지만 금방 지나간다.",
+            "운동을 다녀오니 기분이 한결 가벼워졌다."
+    };
+
+    @Param({"default", "expanded"})
+    public String lexiconSize;
+
+    private String monthText;
+    private RiskScreener screener;
+    private List<String> terms;
+    private int[] weights;
+
+    @Setup
+    public void setup() {
+        Map<String, Integer> lexicon = new LinkedHashMap<>(RiskScreener.DEFAULT_LEXICON);
+        if ("expanded".equals(lexiconSize)) {
+            // 실제로는 나오지 않는 단어를 추가해 사전 크기만 늘림
+            int base = lexicon.size();
+            for (int i = 0; i < base * 9; i++) {
+                lexicon.put("없는단어" + i + "표현", 1);
+            }
+        }
+
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder();
+        for (int day = 0; day < 30 * 3; day++) {
+            for (int s = 0; s < 6; s++) {
+                text.append(SENTENCES[random.nextInt(SENTENCES.length)]).append(' ');
+            }
+            text.append('\n');
+        }
+        monthText = text.toString();
+
+        screener = new RiskScreener(lexicon, 3, 2, 6, 3);
+        terms = new ArrayList<>(lexicon.keySet());
+        weights = new int[terms.size()];
+        for (int i = 0; i < terms.size(); i++) {
+            weights[i] = lexicon.get(terms.get(i));
+        }
+    }
+
+    @Benchmark
+    public RiskScreenResult ahoCorasick() {
+        return screener.screen(monthText);
+    }
+
+    /**
+     * 비교 기준: 소문자 변환 후 단어마다 전체 텍스트를 다시 검색 (공백 무시 비교는 하지 않음)
+     */
+    @Benchmark
+    public double indexOfPerTerm() {
+        String lower = monthText.toLowerCase(Locale.ROOT);
+        double score = 0;
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            int count = 0;
+            for (int from = lower.indexOf(term); from >= 0 && count < 3; from = lower.indexOf(term, from + 1)) {
+                count++;
+            }
+            score += weights[i] * count;
+        }
+        return score;
+    }
+}
@@ -1,14 +1,66 @@
 package asia.canopy.tree.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 @Configuration
 public class AppConfig {
 
+    /**
+     * Gemini API 호출용 RestTemplate (응답 생성이 느리므로 읽기 타임아웃을 길게 설정)
+     */
+    @Bean
+    public RestTemplate geminiRestTemplate(
+            MeterRegistry meterRegistry,
+            @Value("${http.gemini.connect-timeout-ms:3000}") long connectTimeoutMillis,
+            @Value("${http.gemini.read-timeout-ms:60000}") long readTimeoutMillis,
+            @Value("${http.gemini.max-connections:32}") int maxConnections,
+            @Value("${http.gemini.acquire-timeout-ms:5000}") long acquireTimeoutMillis) {
+        return outboundRestTemplate("gemini", meterRegistry, connectTimeoutMillis, readTimeoutMillis,
+                maxConnections, acquireTimeoutMillis);
+    }
+
+    /**
+     * Google Custom Search API 호출용 RestTemplate
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate cseRestTemplate(
+            MeterRegistry meterRegistry,
+            @Value("${http.cse.connect-timeout-ms:2000}") long connectTimeoutMillis,
+            @Value("${http.cse.read-timeout-ms:5000}") long readTimeoutMillis,
+            @Value("${http.cse.max-connections:16}") int maxConnections,
+            @Value("${http.cse.acquire-timeout-ms:1000}") long acquireTimeoutMillis) {
+        return outboundRestTemplate("cse", meterRegistry, connectTimeoutMillis, readTimeoutMillis,
+                maxConnections, acquireTimeoutMillis);
+    }
+
+    /**
+     * JDK HttpClient 기반 RestTemplate을 생성합니다.
+     * HttpClient는 연결을 keep-alive로 재사용하고 HTTP/2를 우선 협상하며,
+     * 대상별 동시 요청 수는 {@link OutboundRequestLimiter}로 제한합니다.
+     */
+    private RestTemplate outboundRestTemplate(String clientName, MeterRegistry meterRegistry,
+                                              long connectTimeoutMillis, long readTimeoutMillis,
+                                              int maxConnections, long acquireTimeoutMillis) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMillis));
+
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(new OutboundRequestLimiter(
+                clientName, maxConnections, Duration.ofMillis(acquireTimeoutMillis), meterRegistry));
+        return restTemplate;
     }
 }
@@ -0,0 +1,134 @@
+package asia.canopy.tree.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 외부 API 대상별 동시 요청(연결) 수를 제한하는 인터셉터
+ * 허용 수를 넘는 요청은 대기하고, 대기 시간을 넘기면 IOException으로 실패합니다.
+ * 사용 중/대기 중 요청 수와 거절 수를 http.client.* 지표로 노출합니다.
+ */
+public class OutboundRequestLimiter implements ClientHttpRequestInterceptor {
+
+    private final int maxConcurrent;
+    private final Duration acquireTimeout;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Counter rejected;
+    private final Timer acquireTimer;
+
+    public OutboundRequestLimiter(String clientName, int maxConcurrent, Duration acquireTimeout, MeterRegistry meterRegistry) {
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeout = acquireTimeout;
+        this.permits = new Semaphore(maxConcurrent, true);
+
+        Gauge.builder("http.client.in_flight", this, OutboundRequestLimiter::inFlight)
+                .tag("client", clientName)
+                .register(meterRegistry);
+        Gauge.builder("http.client.waiting", waiting, AtomicInteger::get)
+                .tag("client", clientName)
+                .register(meterRegistry);
+        Gauge.builder("http.client.saturation", this, limiter -> (double) limiter.inFlight() / limiter.maxConcurrent)
+                .tag("client", clientName)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("http.client.rejected")
+                .tag("client", clientName)
+                .register(meterRegistry);
+        this.acquireTimer = Timer.builder("http.client.acquire")
+                .tag("client", clientName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        boolean acquired;
+        long start = System.nanoTime();
+        waiting.incrementAndGet();
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("외부 API 연결 대기 중 인터럽트되었습니다.");
+        } finally {
+            waiting.decrementAndGet();
+            acquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (!acquired) {
+            rejected.increment();
+            throw new IOException("외부 API 연결이 모두 사용 중입니다: " + request.getURI().getHost());
+        }
+
+        try {
+            return new PermitReleasingResponse(execution.execute(request, body));
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private int inFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    /**
+     * 응답 본문을 모두 읽고 닫을 때 허용 수를 반환합니다.
+     */
+    private class PermitReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        PermitReleasingResponse(ClientHttpResponse delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
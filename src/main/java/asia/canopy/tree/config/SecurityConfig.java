@@ -2,6 +2,7 @@ package asia.canopy.tree.config;
 
 import asia.canopy.tree.config.jwt.JwtAuthenticationFilter;
 import asia.canopy.tree.config.jwt.JwtTokenProvider;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -51,6 +52,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> {
                     // cors 허용
                     auth.requestMatchers(CorsUtils::isPreFlightRequest).permitAll();
+                    // SSE 등 비동기 응답 완료 시의 재디스패치 허용 (최초 요청에서 이미 인증됨)
+                    auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
                     // Swagger UI 및 기타 공개 리소스 접근 허용
                     auth.requestMatchers(SWAGGER_LIST).permitAll();
                     auth.requestMatchers("/api/auth/**", "/oauth2/**", "/login/**").permitAll();
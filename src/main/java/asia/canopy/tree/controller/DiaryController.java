@@ -4,6 +4,8 @@ import asia.canopy.tree.config.UserPrincipal;
 import asia.canopy.tree.domain.QType;
 import asia.canopy.tree.dto.DiaryDto;
 import asia.canopy.tree.dto.DiaryListResponse;
+import asia.canopy.tree.dto.EmotionTimelineResponse;
+import asia.canopy.tree.service.DiaryEmotionService;
 import asia.canopy.tree.service.DiaryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -19,6 +21,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @RestController
@@ -30,6 +33,7 @@ import java.time.LocalDateTime;
 public class DiaryController {
 
     private final DiaryService diaryService;
+    private final DiaryEmotionService diaryEmotionService;
 
     @Operation(summary = "사용자의 모든 일기 조회", description = "현재 로그인한 사용자의 모든 일기를 조회합니다. 조회된 일기 수를 함께 반환합니다.")
     @ApiResponses(value = {
@@ -86,6 +90,23 @@ public class DiaryController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "감정 점수 시계열 조회", description = "시작 날짜와 종료 날짜 사이의 날짜별 감정 점수를 조회합니다. " +
+            "점수는 일기를 작성/수정할 때 계산되며 -1.0(부정) ~ 1.0(긍정) 범위입니다. 일기가 없는 날짜는 포함되지 않습니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공",
+                    content = @Content(schema = @Schema(implementation = EmotionTimelineResponse.class))),
+            @ApiResponse(responseCode = "400", description = "잘못된 기간"),
+            @ApiResponse(responseCode = "401", description = "인증되지 않은 사용자")
+    })
+    @GetMapping("/emotions")
+    public ResponseEntity<EmotionTimelineResponse> getEmotionTimeline(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        EmotionTimelineResponse response = diaryEmotionService.getTimeline(userPrincipal.getId(), from, to);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "일기 생성", description = "새로운 일기를 생성합니다.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "생성 성공",
@@ -2,7 +2,14 @@ package asia.canopy.tree.controller;
 
 import asia.canopy.tree.config.UserPrincipal;
 import asia.canopy.tree.dto.MonthlyReportDto;
+import asia.canopy.tree.dto.ReportJobResponse;
+import asia.canopy.tree.dto.StoredReportPayload;
+import asia.canopy.tree.dto.TrendReportDto;
 import asia.canopy.tree.service.MonthlyReportService;
+import asia.canopy.tree.service.MonthlyReportStreamService;
+import asia.canopy.tree.service.ReportJobService;
+import asia.canopy.tree.service.TrendReportService;
+import asia.canopy.tree.service.report.ReportPayloadCodec;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,11 +19,19 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
 import java.time.YearMonth;
+import java.util.Locale;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/report")
@@ -26,50 +41,227 @@ import java.time.YearMonth;
 public class MonthlyReportController {
 
     private final MonthlyReportService monthlyReportService;
+    private final ReportJobService reportJobService;
+    private final MonthlyReportStreamService monthlyReportStreamService;
+    private final TrendReportService trendReportService;
+    private final ReportPayloadCodec reportPayloadCodec;
 
-    @Operation(summary = "월간 리포트 조회", description = "특정 연도와 월의 일기 데이터를 분석한 월간 리포트를 제공합니다.")
+    @Operation(summary = "월간 리포트 조회", description = "특정 연도와 월의 일기 데이터를 분석한 월간 리포트를 제공합니다. " +
+            "리포트가 아직 없으면 생성 작업을 등록하고 202와 작업 정보를 반환합니다. " +
+            "응답에는 ETag가 포함되며, If-None-Match가 일치하면 304를 반환합니다.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "리포트 조회 성공",
                     content = @Content(schema = @Schema(implementation = MonthlyReportDto.class))),
+            @ApiResponse(responseCode = "304", description = "리포트가 바뀌지 않음"),
+            @ApiResponse(responseCode = "202", description = "리포트 생성 작업 등록",
+                    content = @Content(schema = @Schema(implementation = ReportJobResponse.class))),
             @ApiResponse(responseCode = "401", description = "인증되지 않은 사용자"),
             @ApiResponse(responseCode = "404", description = "해당 월의 일기가 존재하지 않음")
     })
     @GetMapping("/monthly")
-    public ResponseEntity<MonthlyReportDto> getMonthlyReport(
+    public ResponseEntity<?> getMonthlyReport(
             @AuthenticationPrincipal UserPrincipal userPrincipal,
             @RequestParam(required = false) Integer year,
-            @RequestParam(required = false) Integer month) {
+            @RequestParam(required = false) Integer month,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 
         // 연도와 월 파라미터가 없으면 현재 연도와 월을 사용
         YearMonth currentYearMonth = YearMonth.now();
         int reportYear = (year != null) ? year : currentYearMonth.getYear();
         int reportMonth = (month != null) ? month : currentYearMonth.getMonthValue();
 
-        MonthlyReportDto report = monthlyReportService.getOrCreateMonthlyReport(
+        // 저장할 때 직렬화해 둔 본문이 있으면 그대로 전송
+        Optional<StoredReportPayload> payload = monthlyReportService.findMonthlyReportPayload(
                 userPrincipal.getId(), reportYear, reportMonth);
+        if (payload.isPresent() && payload.get().isAvailable()) {
+            return payloadResponse(payload.get(), ifNoneMatch, acceptEncoding);
+        }
 
-        return ResponseEntity.ok(report);
+        Optional<MonthlyReportDto> report = monthlyReportService.findMonthlyReport(
+                userPrincipal.getId(), reportYear, reportMonth);
+        if (report.isPresent()) {
+            return ResponseEntity.ok(report.get());
+        }
+
+        // 리포트가 없으면 생성 작업을 등록하고 바로 응답
+        return accepted(reportJobService.submit(userPrincipal.getId(), reportYear, reportMonth));
     }
 
-    @Operation(summary = "월간 리포트 생성", description = "특정 연도와 월의 일기 데이터를 분석하여 새로운 월간 리포트를 생성합니다.")
+    @Operation(summary = "월간 리포트 스트림", description = "월간 리포트를 Server-Sent Events로 전송합니다. " +
+            "분석 단계가 끝나는 대로 emotion, risk, recommendations, overview 이벤트를 보내고, " +
+            "마지막에 전체 리포트를 담은 complete 이벤트를 보냅니다. 오류가 발생하면 error 이벤트를 보냅니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "스트림 시작"),
+            @ApiResponse(responseCode = "401", description = "인증되지 않은 사용자")
+    })
+    @GetMapping(value = "/monthly/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMonthlyReport(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month) {
+
+        // 연도와 월 파라미터가 없으면 현재 연도와 월을 사용
+        YearMonth currentYearMonth = YearMonth.now();
+        int reportYear = (year != null) ? year : currentYearMonth.getYear();
+        int reportMonth = (month != null) ? month : currentYearMonth.getMonthValue();
+
+        return monthlyReportStreamService.stream(userPrincipal.getId(), reportYear, reportMonth);
+    }
+
+    @Operation(summary = "월간 리포트 생성", description = "특정 연도와 월의 일기 데이터를 분석하여 새로운 월간 리포트를 생성합니다. " +
+            "마지막 생성 이후 일기가 바뀌지 않았으면 저장된 리포트를 바로 반환하며, force=true이면 항상 새로 생성합니다. " +
+            "Idempotency-Key 헤더를 보내면 같은 키로 재시도한 요청은 같은 생성 실행에 연결되어, " +
+            "완료된 경우 저장된 리포트를 반환하고 중단된 경우 완료된 단계 다음부터 이어서 생성합니다.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "리포트 생성 성공",
                     content = @Content(schema = @Schema(implementation = MonthlyReportDto.class))),
+            @ApiResponse(responseCode = "400", description = "잘못된 Idempotency-Key (다른 월의 요청에 사용된 키 포함)"),
             @ApiResponse(responseCode = "401", description = "인증되지 않은 사용자"),
             @ApiResponse(responseCode = "404", description = "해당 월의 일기가 존재하지 않음")
     })
     @PostMapping("/monthly")
     public ResponseEntity<MonthlyReportDto> createMonthlyReport(
             @AuthenticationPrincipal UserPrincipal userPrincipal,
-            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") String yearMonth) {
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") String yearMonth,
+            @RequestParam(defaultValue = "false") boolean force,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
 
         String[] parts = yearMonth.split("-");
         int year = Integer.parseInt(parts[0]);
         int month = Integer.parseInt(parts[1]);
 
         MonthlyReportDto report = monthlyReportService.generateMonthlyReport(
-                userPrincipal.getId(), year, month);
+                userPrincipal.getId(), year, month, force, idempotencyKey);
 
         return ResponseEntity.ok(report);
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "기간 추세 리포트 조회", description = "저장된 월간 리포트를 모아 여러 달의 감정 추세를 요약합니다. " +
+            "일기 원문은 다시 분석하지 않으며, 리포트가 없는 달은 생성 작업을 등록하고 queuedJobs로 반환합니다. " +
+            "기간을 지정하지 않으면 이번 달까지 최근 12개월을 조회합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공",
+                    content = @Content(schema = @Schema(implementation = TrendReportDto.class))),
+            @ApiResponse(responseCode = "400", description = "잘못된 기간"),
+            @ApiResponse(responseCode = "401", description = "인증되지 않은 사용자")
+    })
+    @GetMapping("/trend")
+    public ResponseEntity<TrendReportDto> getTrendReport(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") String from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") String to) {
+
+        YearMonth toMonth = (to != null) ? YearMonth.parse(to) : YearMonth.now();
+        YearMonth fromMonth = (from != null) ? YearMonth.parse(from) : toMonth.minusMonths(11);
+
+        return ResponseEntity.ok(trendReportService.getTrendReport(userPrincipal.getId(), fromMonth, toMonth));
+    }
+
+    @Operation(summary = "월간 리포트 생성 작업 등록", description = "특정 연도와 월의 리포트 생성 작업을 등록합니다. 진행 중인 작업이 있으면 해당 작업을 반환합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "작업 등록 성공",
+                    content = @Content(schema = @Schema(implementation = ReportJobResponse.class))),
+            @ApiResponse(responseCode = "401", description = "인증되지 않은 사용자"),
+            @ApiResponse(responseCode = "404", description = "해당 월의 일기가 존재하지 않음")
+    })
+    @PostMapping("/jobs")
+    public ResponseEntity<ReportJobResponse> submitReportJob(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") String yearMonth) {
+
+        String[] parts = yearMonth.split("-");
+        int year = Integer.parseInt(parts[0]);
+        int month = Integer.parseInt(parts[1]);
+
+        return accepted(reportJobService.submit(userPrincipal.getId(), year, month));
+    }
+
+    @Operation(summary = "리포트 생성 작업 조회", description = "리포트 생성 작업의 상태를 조회합니다. 완료된 경우 리포트를 함께 반환합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공",
+                    content = @Content(schema = @Schema(implementation = ReportJobResponse.class))),
+            @ApiResponse(responseCode = "401", description = "인증되지 않은 사용자"),
+            @ApiResponse(responseCode = "404", description = "작업을 찾을 수 없음")
+    })
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ReportJobResponse> getReportJob(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @PathVariable Long jobId) {
+        return ResponseEntity.ok(reportJobService.getJob(userPrincipal.getId(), jobId));
+    }
+
+    private ResponseEntity<?> payloadResponse(StoredReportPayload payload, String ifNoneMatch, String acceptEncoding) {
+        // gzip을 받지 못하는 클라이언트에게만 압축을 풀어서 전송
+        boolean gzipped = ReportPayloadCodec.GZIP.equals(payload.encoding());
+        boolean sendGzip = gzipped && acceptsGzip(acceptEncoding);
+
+        // 압축 여부에 따라 본문 바이트가 다르므로 ETag도 구분
+        String etag = "\"" + payload.etag() + (sendGzip ? "-gzip" : "") + "\"";
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+        if (sendGzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, ReportPayloadCodec.GZIP)
+                    .body(payload.payload());
+        }
+        if (gzipped) {
+            return response.body(reportPayloadCodec.decode(payload.payload(), payload.encoding()));
+        }
+        return response.body(payload.payload());
+    }
+
+    /**
+     * Accept-Encoding이 gzip을 허용하는지 판단합니다. (q=0은 거부, gzip이 없으면 * 항목을 따름)
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals(ReportPayloadCodec.GZIP) || name.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (name.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return wildcardQuality != null && wildcardQuality > 0;
+    }
+
+    private ResponseEntity<ReportJobResponse> accepted(ReportJobResponse job) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/report/jobs/" + job.getJobId()))
+                .body(job);
+    }
+}
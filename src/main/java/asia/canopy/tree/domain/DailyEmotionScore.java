@@ -0,0 +1,87 @@
+package asia.canopy.tree.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별, 날짜별 일기 감정 점수 (-1.0 부정 ~ 1.0 긍정)
+ * 시간대별 점수는 float 컬럼에 저장하고, 점수가 있는 시간대는 presentMask 비트로 표시합니다.
+ */
+@Entity
+@Table(name = "daily_emotion_scores",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "score_date"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyEmotionScore {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 일기를 다시 읽지 않고 조회하도록 사용자 엔티티 대신 ID만 저장
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "score_date", nullable = false)
+    private LocalDate scoreDate;
+
+    @Column(name = "morning", nullable = false)
+    private float morning;
+
+    @Column(name = "lunch", nullable = false)
+    private float lunch;
+
+    @Column(name = "evening", nullable = false)
+    private float evening;
+
+    // 점수가 있는 시간대 (1: morning, 2: lunch, 4: evening)
+    @Column(name = "present_mask", nullable = false)
+    private byte presentMask;
+
+    // 점수를 계산한 DiarySentimentScorer 버전 (이전 버전으로 계산된 점수는 다시 계산)
+    @Column(name = "scorer_version")
+    private Short scorerVersion;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * 시간대의 점수를 설정합니다. null이면 점수를 지웁니다.
+     */
+    public void setScore(QType qtype, Float score) {
+        int bit = 1 << qtype.ordinal();
+        float value = score != null ? score : 0f;
+        switch (qtype) {
+            case morning -> morning = value;
+            case lunch -> lunch = value;
+            case evening -> evening = value;
+        }
+        presentMask = (byte) (score != null ? presentMask | bit : presentMask & ~bit);
+    }
+
+    /**
+     * 시간대의 점수를 반환합니다. 해당 시간대의 일기가 없으면 null입니다.
+     */
+    public Float getScore(QType qtype) {
+        if ((presentMask & (1 << qtype.ordinal())) == 0) {
+            return null;
+        }
+        return switch (qtype) {
+            case morning -> morning;
+            case lunch -> lunch;
+            case evening -> evening;
+        };
+    }
+}
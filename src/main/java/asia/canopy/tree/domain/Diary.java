@@ -29,9 +29,19 @@ public class Diary {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // 마지막 수정 시각 (월간 리포트 재생성 여부 판단에 사용)
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
     }
 
     @ManyToOne(fetch = FetchType.LAZY)
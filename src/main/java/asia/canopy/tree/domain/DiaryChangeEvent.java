@@ -0,0 +1,51 @@
+package asia.canopy.tree.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 일기 변경 이벤트 (트랜잭션 아웃박스)
+ * 일기 생성/수정/삭제와 같은 트랜잭션에서 기록되므로, 일기 변경이 커밋된 경우에만 이벤트가 남습니다.
+ * 백그라운드 소비자가 (사용자, 월) 단위로 모아서 처리한 뒤 processedAt을 기록합니다.
+ */
+@Entity
+@Table(name = "diary_change_events", indexes = {
+        @Index(name = "idx_diary_change_events_pending", columnList = "processed_at, user_id, year, month")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DiaryChangeEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    @Column(name = "diary_date", nullable = false)
+    private LocalDate diaryDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private DiaryChangeType changeType;
+
+    @Builder.Default
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,43 @@
+package asia.canopy.tree.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "gemini_response_cache", indexes = {
+        @Index(name = "idx_gemini_response_cache_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GeminiResponseCacheEntry {
+
+    // SHA-256(모델명 + 프롬프트 버전 + 프롬프트 [+ generationConfig])
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+
+    @Column(name = "model_name", length = 50)
+    private String modelName;
+
+    @Column(name = "prompt_version", length = 20)
+    private String promptVersion;
+
+    @Column(name = "response_text", columnDefinition = "TEXT")
+    private String responseText;
+
+    @Builder.Default
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    public boolean isExpired() {
+        return LocalDateTime.now().isAfter(expiresAt);
+    }
+}
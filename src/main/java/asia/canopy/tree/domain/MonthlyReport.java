@@ -2,10 +2,13 @@ package asia.canopy.tree.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Entity
 @Table(name = "monthly_reports")
@@ -54,34 +57,69 @@ public class MonthlyReport {
     @Column(name = "search_query", length = 100)
     private String searchQuery;
 
-    @ElementCollection
-    @CollectionTable(
-            name = "monthly_report_emotion_keywords",
-            joinColumns = @JoinColumn(name = "report_id")
-    )
-    @Column(name = "keyword")
+    // 리포트 조회를 한 번의 쿼리로 처리하도록 목록 값은 별도 테이블 대신 JSON 컬럼에 저장
+    @Builder.Default
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "emotion_keywords")
     private List<String> emotionKeywords = new ArrayList<>();
 
-    @ElementCollection
-    @CollectionTable(
-            name = "monthly_report_recommendations",
-            joinColumns = @JoinColumn(name = "report_id")
-    )
+    @Builder.Default
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "recommendations")
     private List<Recommendation> recommendations = new ArrayList<>();
 
+    // 리포트 생성 시점의 일기 변경 감지값 (같으면 재생성하지 않음)
+    @Column(name = "diary_fingerprint", length = 100)
+    private String diaryFingerprint;
+
+    // 프롬프트 토큰 예산 사용량 (일기 본문 기준 추정치)
+    @Column(name = "prompt_tokens_original")
+    private Integer promptTokensOriginal;
+
+    @Column(name = "prompt_tokens_used")
+    private Integer promptTokensUsed;
+
+    @Column(name = "prompt_token_budget")
+    private Integer promptTokenBudget;
+
+    // 샘플링 후 분석에 사용한 일수
+    @Column(name = "prompt_days_used")
+    private Integer promptDaysUsed;
+
+    // 분석 스크립트 결과 (스크립트 이름 -> result 값)
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "script_insights")
+    private Map<String, Object> scriptInsights;
+
+    // 로컬 위험 사전 검사 결과 (LOW, BORDERLINE, HIGH)
+    @Column(name = "risk_screen_score")
+    private Double riskScreenScore;
+
+    @Column(name = "risk_screen_level", length = 20)
+    private String riskScreenLevel;
+
+    // GET 응답으로 그대로 전송하는 직렬화된 리포트 JSON (payload_encoding이 gzip이면 압축됨)
+    @Lob
+    @Column(name = "payload", length = 16_777_215)
+    private byte[] payload;
+
+    @Column(name = "payload_encoding", length = 20)
+    private String payloadEncoding;
+
+    // 압축 전 JSON의 SHA-256 해시
+    @Column(name = "payload_etag", length = 64)
+    private String payloadEtag;
+
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
 
-    @Embeddable
     @Getter
     @Setter
     @NoArgsConstructor
     @AllArgsConstructor
     public static class Recommendation {
-        @Column(name = "title", length = 255)
         private String title;
 
-        @Column(name = "link", length = 255)
         private String link;
     }
 }
@@ -0,0 +1,63 @@
+package asia.canopy.tree.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "report_batch_shards", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_report_batch_shard", columnNames = {"year", "month", "shard_index"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportBatchShard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 리포트 대상 연도/월
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    // userId % shardCount == shardIndex 인 사용자를 처리
+    @Column(name = "shard_index", nullable = false)
+    private Integer shardIndex;
+
+    @Column(name = "shard_count", nullable = false)
+    private Integer shardCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReportBatchShardStatus status;
+
+    // 샤드를 처리 중인 노드
+    @Column(length = 100)
+    private String owner;
+
+    // 이 시각이 지나면 다른 노드가 샤드를 가져갈 수 있음
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    // 체크포인트: 마지막으로 처리한 사용자 ID (재시작 시 다음 사용자부터 이어서 처리)
+    @Builder.Default
+    @Column(name = "last_user_id", nullable = false)
+    private Long lastUserId = 0L;
+
+    @Builder.Default
+    private int processed = 0;
+
+    @Builder.Default
+    private int failed = 0;
+
+    @Builder.Default
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
@@ -0,0 +1,7 @@
+package asia.canopy.tree.domain;
+
+public enum ReportBatchShardStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED
+}
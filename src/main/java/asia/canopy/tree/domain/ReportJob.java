@@ -0,0 +1,59 @@
+package asia.canopy.tree.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "report_jobs", indexes = {
+        @Index(name = "idx_report_jobs_status", columnList = "status, created_at"),
+        @Index(name = "idx_report_jobs_user_month", columnList = "user_id, year, month")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_report_jobs_active_key", columnNames = {"active_key"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReportJobStatus status;
+
+    // 대기 중이거나 실행 중인 동안만 "사용자 ID:연-월" 값을 가지고, 끝나면 null (사용자/월당 진행 중인 작업 하나로 제한)
+    @Column(name = "active_key", length = 50)
+    private String activeKey;
+
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Builder.Default
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
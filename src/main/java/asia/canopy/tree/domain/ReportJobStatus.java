@@ -0,0 +1,8 @@
+package asia.canopy.tree.domain;
+
+public enum ReportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
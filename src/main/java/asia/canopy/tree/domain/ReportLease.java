@@ -0,0 +1,28 @@
+package asia.canopy.tree.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "report_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportLease {
+
+    // 예: report:1:2025-05
+    @Id
+    @Column(name = "lease_key", length = 100)
+    private String leaseKey;
+
+    // 리스를 보유한 노드 ID
+    @Column(name = "owner", length = 100, nullable = false)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
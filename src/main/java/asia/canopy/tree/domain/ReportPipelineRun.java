@@ -0,0 +1,88 @@
+package asia.canopy.tree.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 월간 리포트 생성 실행 하나의 단계별 체크포인트
+ * 각 단계가 끝날 때마다 결과를 JSON으로 기록하므로, 실패 후 재시도나 작업 재시작 시
+ * 같은 입력(input_key)이면 완료된 단계는 건너뛰고 첫 번째 미완료 단계부터 이어서 실행합니다.
+ */
+@Entity
+@Table(name = "report_pipeline_runs", indexes = {
+        @Index(name = "idx_report_pipeline_runs_user_month", columnList = "user_id, year, month, input_key"),
+        @Index(name = "idx_report_pipeline_runs_updated_at", columnList = "updated_at")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_report_pipeline_runs_idempotency", columnNames = {"user_id", "idempotency_key"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportPipelineRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    // 일기 변경 감지값 + 파이프라인 설정의 해시 (입력이 바뀌면 이전 단계 결과를 재사용하지 않음)
+    @Column(name = "input_key", nullable = false, length = 64)
+    private String inputKey;
+
+    // 클라이언트가 보낸 Idempotency-Key (없으면 null)
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReportPipelineRunStatus status;
+
+    @Builder.Default
+    private int attempts = 1;
+
+    // 단계별 결과 (JSON)
+    @Column(name = "emotion_result", columnDefinition = "TEXT")
+    private String emotionResult;
+
+    @Column(name = "risk_result", columnDefinition = "TEXT")
+    private String riskResult;
+
+    @Column(name = "checkup_query", length = 200)
+    private String checkupQuery;
+
+    @Column(name = "recommendations_result", columnDefinition = "TEXT")
+    private String recommendationsResult;
+
+    @Column(name = "overview_result", columnDefinition = "TEXT")
+    private String overviewResult;
+
+    @Column(name = "combined_result", columnDefinition = "TEXT")
+    private String combinedResult;
+
+    // 완료된 경우 저장된 리포트 ID
+    @Column(name = "report_id")
+    private Long reportId;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Builder.Default
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Builder.Default
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
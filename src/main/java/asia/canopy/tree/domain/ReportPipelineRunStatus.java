@@ -0,0 +1,7 @@
+package asia.canopy.tree.domain;
+
+public enum ReportPipelineRunStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,49 @@
+package asia.canopy.tree.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "weekly_diary_summaries", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_weekly_summary", columnNames = {"user_id", "year", "month", "week_start"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WeeklyDiarySummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    // 리포트 대상 연도/월 (월 경계에 걸친 주는 해당 월의 일기만 포함)
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    // ISO 주의 시작일 (월요일)
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    // 요약에 사용한 일기 본문의 SHA-256 해시
+    @Column(name = "content_hash", length = 64, nullable = false)
+    private String contentHash;
+
+    @Column(name = "summary", columnDefinition = "TEXT")
+    private String summary;
+
+    @Builder.Default
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
@@ -0,0 +1,21 @@
+package asia.canopy.tree.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 기간 내 일기의 변경 여부를 판단하기 위한 집계값
+ * 추가/삭제는 개수와 ID 합계로, 수정은 마지막 수정 시각으로 감지합니다.
+ *
+ * @param count        일기 수
+ * @param idSum        일기 ID 합계
+ * @param lastModified 가장 최근의 작성/수정 시각
+ */
+public record DiaryFingerprint(Long count, Long idSum, LocalDateTime lastModified) {
+
+    /**
+     * 리포트에 저장할 문자열 값 (프롬프트 버전이 바뀌면 다른 값이 됨)
+     */
+    public String toValue(String promptVersion) {
+        return promptVersion + ":" + count + ":" + idSum + ":" + lastModified;
+    }
+}
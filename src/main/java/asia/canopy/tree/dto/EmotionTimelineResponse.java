@@ -0,0 +1,50 @@
+package asia.canopy.tree.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "일기 감정 점수 시계열 응답 DTO")
+public class EmotionTimelineResponse {
+
+    @Schema(description = "시작 날짜", example = "2025-05-01")
+    private LocalDate from;
+
+    @Schema(description = "종료 날짜", example = "2025-05-31")
+    private LocalDate to;
+
+    @Schema(description = "일기를 작성한 날짜별 감정 점수 (날짜 순)")
+    private List<DailyEmotionDto> days;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "날짜별 감정 점수 (-1.0 부정 ~ 1.0 긍정, 해당 시간대의 일기가 없으면 생략)")
+    public static class DailyEmotionDto {
+        @Schema(description = "날짜", example = "2025-05-03")
+        private LocalDate date;
+
+        @Schema(description = "아침 일기 점수", example = "0.5")
+        private Float morning;
+
+        @Schema(description = "점심 일기 점수", example = "-0.33")
+        private Float lunch;
+
+        @Schema(description = "저녁 일기 점수", example = "0.67")
+        private Float evening;
+
+        @Schema(description = "작성한 시간대의 평균 점수", example = "0.28")
+        private Float average;
+    }
+}
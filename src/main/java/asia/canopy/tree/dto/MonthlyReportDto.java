@@ -1,12 +1,16 @@
 package asia.canopy.tree.dto;
 
+import asia.canopy.tree.domain.MonthlyReport;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -45,6 +49,33 @@ public class MonthlyReportDto {
     @Schema(description = "추천 리스트")
     private List<RecommendationDto> recommendations;
 
+    @Schema(description = "분석 스크립트 결과 (스크립트 이름 -> 결과, 실행한 스크립트가 없으면 생략)")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Map<String, Object> scriptInsights;
+
+    public static MonthlyReportDto fromEntity(MonthlyReport report) {
+        List<RecommendationDto> recommendations = new ArrayList<>();
+        if (report.getRecommendations() != null) {
+            report.getRecommendations().forEach(rec ->
+                    recommendations.add(new RecommendationDto(rec.getTitle(), rec.getLink())));
+        }
+
+        return MonthlyReportDto.builder()
+                .oneLineSummary(report.getOneLineSummary())
+                .overview(report.getOverview())
+                .emotionKeywords(report.getEmotionKeywords() != null
+                        ? new ArrayList<>(report.getEmotionKeywords()) : new ArrayList<>())
+                .emotionSummary(report.getEmotionSummary())
+                .riskAnalysis(report.getRiskAnalysis())
+                .hasMentalHealthRisk(report.isHasMentalHealthRisk())
+                .checkupType(report.getCheckupType())
+                .recommendationMessage(report.getRecommendationMessage())
+                .searchQuery(report.getSearchQuery())
+                .recommendations(recommendations)
+                .scriptInsights(report.getScriptInsights())
+                .build();
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
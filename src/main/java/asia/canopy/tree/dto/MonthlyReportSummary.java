@@ -0,0 +1,17 @@
+package asia.canopy.tree.dto;
+
+import java.util.List;
+
+/**
+ * 기간 추세 리포트를 만들 때 사용하는 저장된 월간 리포트의 요약 필드
+ *
+ * @param year                연도
+ * @param month               월
+ * @param oneLineSummary      한 줄 요약
+ * @param overview            개요 문단
+ * @param emotionKeywords     감정 키워드
+ * @param hasMentalHealthRisk 정신 건강 위험 여부
+ */
+public record MonthlyReportSummary(Integer year, Integer month, String oneLineSummary, String overview,
+                                   List<String> emotionKeywords, boolean hasMentalHealthRisk) {
+}
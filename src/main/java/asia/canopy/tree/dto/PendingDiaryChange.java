@@ -0,0 +1,17 @@
+package asia.canopy.tree.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 아직 처리하지 않은 일기 변경 이벤트를 (사용자, 월) 단위로 모은 결과
+ *
+ * @param userId         사용자 ID
+ * @param year           연도
+ * @param month          월
+ * @param firstChangedAt 가장 오래된 이벤트 시각
+ * @param lastChangedAt  가장 최근 이벤트 시각
+ * @param changes        이벤트 수
+ */
+public record PendingDiaryChange(Long userId, Integer year, Integer month,
+                                 LocalDateTime firstChangedAt, LocalDateTime lastChangedAt, Long changes) {
+}
@@ -0,0 +1,57 @@
+package asia.canopy.tree.dto;
+
+import asia.canopy.tree.domain.ReportJob;
+import asia.canopy.tree.domain.ReportJobStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "리포트 생성 작업 DTO")
+public class ReportJobResponse {
+
+    @Schema(description = "작업 ID", example = "1")
+    private Long jobId;
+
+    @Schema(description = "작업 상태 (PENDING, RUNNING, COMPLETED, FAILED)", example = "PENDING")
+    private ReportJobStatus status;
+
+    @Schema(description = "연도", example = "2025")
+    private Integer year;
+
+    @Schema(description = "월", example = "5")
+    private Integer month;
+
+    @Schema(description = "실패 사유")
+    private String errorMessage;
+
+    @Schema(description = "작업 생성 시간")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "작업 종료 시간")
+    private LocalDateTime finishedAt;
+
+    @Schema(description = "완료된 월간 리포트 (COMPLETED 상태일 때만 포함)")
+    private MonthlyReportDto report;
+
+    public static ReportJobResponse fromEntity(ReportJob job) {
+        return ReportJobResponse.builder()
+                .jobId(job.getId())
+                .status(job.getStatus())
+                .year(job.getYear())
+                .month(job.getMonth())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
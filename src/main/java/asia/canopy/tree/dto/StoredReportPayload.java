@@ -0,0 +1,15 @@
+package asia.canopy.tree.dto;
+
+/**
+ * 리포트를 저장할 때 미리 직렬화해 둔 응답 본문
+ *
+ * @param payload  리포트 JSON (encoding이 gzip이면 압축된 값, 이전에 저장된 리포트는 null)
+ * @param encoding 본문 인코딩 (gzip 또는 identity)
+ * @param etag     압축 전 JSON의 SHA-256 해시
+ */
+public record StoredReportPayload(byte[] payload, String encoding, String etag) {
+
+    public boolean isAvailable() {
+        return payload != null && etag != null;
+    }
+}
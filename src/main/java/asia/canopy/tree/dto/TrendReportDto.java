@@ -0,0 +1,71 @@
+package asia.canopy.tree.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "기간 추세 리포트 DTO")
+public class TrendReportDto {
+
+    @Schema(description = "시작 월", example = "2025-01")
+    private String from;
+
+    @Schema(description = "종료 월", example = "2025-12")
+    private String to;
+
+    @Schema(description = "기간 한 줄 요약 (저장된 월간 리포트가 없으면 null)")
+    private String oneLineSummary;
+
+    @Schema(description = "기간 개요 (저장된 월간 리포트가 없으면 null)")
+    private String overview;
+
+    @Schema(description = "자주 나타난 감정 키워드 (등장한 월 수 기준 내림차순)")
+    private List<KeywordCountDto> topEmotionKeywords;
+
+    @Schema(description = "정신 건강 위험이 감지된 월", example = "[\"2025-03\"]")
+    private List<String> riskMonths;
+
+    @Schema(description = "월별 요약")
+    private List<MonthSummaryDto> months;
+
+    @Schema(description = "리포트가 없어 생성 작업을 등록한 월")
+    private List<ReportJobResponse> queuedJobs;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "감정 키워드 등장 횟수")
+    public static class KeywordCountDto {
+        @Schema(description = "감정 키워드", example = "calm")
+        private String keyword;
+
+        @Schema(description = "키워드가 등장한 월 수", example = "4")
+        private int months;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "월별 요약")
+    public static class MonthSummaryDto {
+        @Schema(description = "월", example = "2025-03")
+        private String yearMonth;
+
+        @Schema(description = "한 줄 요약")
+        private String oneLineSummary;
+
+        @Schema(description = "감정 키워드")
+        private List<String> emotionKeywords;
+
+        @Schema(description = "정신 건강 위험 여부")
+        private boolean hasMentalHealthRisk;
+    }
+}
@@ -0,0 +1,11 @@
+package asia.canopy.tree.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ExternalServiceUnavailableException extends RuntimeException {
+    public ExternalServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,39 @@
+package asia.canopy.tree.repository;
+
+import asia.canopy.tree.domain.DailyEmotionScore;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DailyEmotionScoreRepository extends JpaRepository<DailyEmotionScore, Long> {
+
+    // 같은 날짜의 점수 갱신이 겹치지 않도록 행을 잠그고 조회
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM DailyEmotionScore s WHERE s.userId = :userId AND s.scoreDate = :scoreDate")
+    Optional<DailyEmotionScore> findForUpdate(@Param("userId") Long userId, @Param("scoreDate") LocalDate scoreDate);
+
+    // 기간 내 감정 점수 (날짜 순)
+    List<DailyEmotionScore> findByUserIdAndScoreDateBetweenOrderByScoreDate(Long userId, LocalDate from, LocalDate to);
+
+    // 이전 버전의 사전으로 계산된 점수 (afterId 이후, ID 순)
+    @Query("SELECT s FROM DailyEmotionScore s WHERE (s.scorerVersion IS NULL OR s.scorerVersion < :version) " +
+            "AND s.id > :afterId ORDER BY s.id")
+    List<DailyEmotionScore> findOutdated(@Param("version") short version, @Param("afterId") Long afterId,
+                                         Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DailyEmotionScore s WHERE s.userId = :userId AND s.scoreDate = :scoreDate")
+    int deleteByUserIdAndScoreDate(@Param("userId") Long userId, @Param("scoreDate") LocalDate scoreDate);
+}
@@ -0,0 +1,50 @@
+package asia.canopy.tree.repository;
+
+import asia.canopy.tree.domain.DiaryChangeEvent;
+import asia.canopy.tree.dto.PendingDiaryChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DiaryChangeEventRepository extends JpaRepository<DiaryChangeEvent, Long> {
+
+    // 마지막 변경 이후 quietBefore까지 조용했거나, 첫 변경이 maxWaitBefore보다 오래된 (사용자, 월) 조회
+    @Query("SELECT new asia.canopy.tree.dto.PendingDiaryChange(e.userId, e.year, e.month, " +
+            "MIN(e.createdAt), MAX(e.createdAt), COUNT(e)) " +
+            "FROM DiaryChangeEvent e WHERE e.processedAt IS NULL " +
+            "GROUP BY e.userId, e.year, e.month " +
+            "HAVING MAX(e.createdAt) < :quietBefore OR MIN(e.createdAt) < :maxWaitBefore " +
+            "ORDER BY MIN(e.createdAt)")
+    List<PendingDiaryChange> findDue(@Param("quietBefore") LocalDateTime quietBefore,
+                                     @Param("maxWaitBefore") LocalDateTime maxWaitBefore, Pageable pageable);
+
+    // upTo까지의 이벤트를 처리 상태로 선점 (다른 서버가 먼저 가져갔다면 0 반환)
+    @Transactional
+    @Modifying
+    @Query("UPDATE DiaryChangeEvent e SET e.processedAt = :now " +
+            "WHERE e.userId = :userId AND e.year = :year AND e.month = :month " +
+            "AND e.processedAt IS NULL AND e.createdAt <= :upTo")
+    int claim(@Param("userId") Long userId, @Param("year") Integer year, @Param("month") Integer month,
+              @Param("upTo") LocalDateTime upTo, @Param("now") LocalDateTime now);
+
+    // 처리에 실패한 이벤트를 다시 대기 상태로 되돌림
+    @Transactional
+    @Modifying
+    @Query("UPDATE DiaryChangeEvent e SET e.processedAt = NULL " +
+            "WHERE e.userId = :userId AND e.year = :year AND e.month = :month AND e.processedAt = :processedAt")
+    int release(@Param("userId") Long userId, @Param("year") Integer year, @Param("month") Integer month,
+                @Param("processedAt") LocalDateTime processedAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DiaryChangeEvent e WHERE e.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
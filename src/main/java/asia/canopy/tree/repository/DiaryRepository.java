@@ -2,6 +2,8 @@ package asia.canopy.tree.repository;
 
 import asia.canopy.tree.domain.Diary;
 import asia.canopy.tree.domain.QType;
+import asia.canopy.tree.dto.DiaryFingerprint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -26,6 +28,9 @@ public interface DiaryRepository extends JpaRepository<Diary, Long> {
     // 생성 날짜 기간으로 일기 조회
     List<Diary> findByUserUserIdAndCreatedAtBetween(Long userId, LocalDateTime start, LocalDateTime end);
 
+    // 생성 날짜 기간 내 일기 존재 여부
+    boolean existsByUserUserIdAndCreatedAtBetween(Long userId, LocalDateTime start, LocalDateTime end);
+
     // 특정 연도와 월의 일기 조회
     @Query("SELECT d FROM Diary d WHERE d.user.userId = :userId AND YEAR(d.createdAt) = :year AND MONTH(d.createdAt) = :month ORDER BY d.createdAt")
     List<Diary> findByUserIdAndYearAndMonth(@Param("userId") Long userId, @Param("year") int year, @Param("month") int month);
@@ -37,4 +42,18 @@ public interface DiaryRepository extends JpaRepository<Diary, Long> {
     // 특정 연도와 월에 사용자가 일기를 작성한 날짜 목록 조회
     @Query("SELECT DISTINCT DATE(d.createdAt) FROM Diary d WHERE d.user.userId = :userId AND YEAR(d.createdAt) = :year AND MONTH(d.createdAt) = :month ORDER BY DATE(d.createdAt)")
     List<java.sql.Date> findDistinctDatesByUserIdAndYearAndMonth(@Param("userId") Long userId, @Param("year") int year, @Param("month") int month);
+
+    // 기간 내 일기를 작성한 사용자 ID 목록 (배치 샤드별로 afterUserId 이후부터 순서대로 조회)
+    @Query("SELECT DISTINCT d.user.userId FROM Diary d WHERE d.createdAt BETWEEN :start AND :end " +
+            "AND d.user.userId > :afterUserId AND MOD(d.user.userId, :shardCount) = :shardIndex ORDER BY d.user.userId")
+    List<Long> findUserIdsWithDiariesBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                                             @Param("shardIndex") int shardIndex, @Param("shardCount") int shardCount,
+                                             @Param("afterUserId") Long afterUserId, Pageable pageable);
+
+    // 기간 내 일기의 변경 감지용 집계 (개수, ID 합계, 마지막 작성/수정 시각)
+    @Query("SELECT new asia.canopy.tree.dto.DiaryFingerprint(COUNT(d), COALESCE(SUM(d.diaryId), 0L), " +
+            "MAX(COALESCE(d.updatedAt, d.createdAt))) " +
+            "FROM Diary d WHERE d.user.userId = :userId AND d.createdAt BETWEEN :start AND :end")
+    DiaryFingerprint findFingerprint(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+                                     @Param("end") LocalDateTime end);
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package asia.canopy.tree.repository;
+
+import asia.canopy.tree.domain.GeminiResponseCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface GeminiResponseCacheRepository extends JpaRepository<GeminiResponseCacheEntry, String> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM GeminiResponseCacheEntry e WHERE e.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,12 +1,39 @@
 package asia.canopy.tree.repository;
 
 import asia.canopy.tree.domain.MonthlyReport;
+import asia.canopy.tree.dto.MonthlyReportSummary;
+import asia.canopy.tree.dto.StoredReportPayload;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface MonthlyReportRepository extends JpaRepository<MonthlyReport, Long> {
     Optional<MonthlyReport> findByUserUserIdAndYearAndMonth(Long userId, Integer year, Integer month);
+
+    boolean existsByUserUserIdAndYearAndMonth(Long userId, Integer year, Integer month);
+
+    // 목록 JSON 컬럼이 비어 있는 리포트 ID (이전 컬렉션 테이블에서 옮겨야 하는 리포트)
+    @Query("SELECT r.id FROM MonthlyReport r WHERE (r.emotionKeywords IS NULL OR r.recommendations IS NULL) " +
+            "AND r.id > :afterId ORDER BY r.id")
+    List<Long> findIdsWithoutListColumns(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 저장된 리포트의 직렬화된 응답만 조회 (엔티티와 목록 값은 읽지 않음)
+    @Query("SELECT new asia.canopy.tree.dto.StoredReportPayload(r.payload, r.payloadEncoding, r.payloadEtag) " +
+            "FROM MonthlyReport r WHERE r.user.userId = :userId AND r.year = :year AND r.month = :month")
+    Optional<StoredReportPayload> findPayload(@Param("userId") Long userId, @Param("year") Integer year,
+                                              @Param("month") Integer month);
+
+    // 기간 추세 리포트용 요약 필드만 조회 (fromKey/toKey는 year * 100 + month)
+    @Query("SELECT new asia.canopy.tree.dto.MonthlyReportSummary(r.year, r.month, r.oneLineSummary, r.overview, " +
+            "r.emotionKeywords, r.hasMentalHealthRisk) " +
+            "FROM MonthlyReport r WHERE r.user.userId = :userId " +
+            "AND r.year * 100 + r.month BETWEEN :fromKey AND :toKey ORDER BY r.year, r.month")
+    List<MonthlyReportSummary> findSummaries(@Param("userId") Long userId, @Param("fromKey") int fromKey,
+                                             @Param("toKey") int toKey);
 }
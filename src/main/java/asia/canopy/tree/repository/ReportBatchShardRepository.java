@@ -0,0 +1,53 @@
+package asia.canopy.tree.repository;
+
+import asia.canopy.tree.domain.ReportBatchShard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ReportBatchShardRepository extends JpaRepository<ReportBatchShard, Long> {
+
+    List<ReportBatchShard> findByYearAndMonthOrderByShardIndex(Integer year, Integer month);
+
+    // 선점할 수 있는 샤드 조회: 대기 중이거나 리스가 만료된 샤드 (재시작 후 이어서 처리, 처리 중인 샤드는 제외)
+    @Query("SELECT s FROM ReportBatchShard s WHERE s.status = asia.canopy.tree.domain.ReportBatchShardStatus.PENDING " +
+            "OR (s.status = asia.canopy.tree.domain.ReportBatchShardStatus.RUNNING " +
+            "AND (s.leaseUntil IS NULL OR s.leaseUntil < :now)) " +
+            "ORDER BY s.year, s.month, s.shardIndex")
+    List<ReportBatchShard> findClaimable(@Param("now") LocalDateTime now);
+
+    // 대기 중이거나 리스가 만료된 샤드를 선점 (다른 노드가 먼저 가져갔다면 0 반환)
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportBatchShard s SET s.status = asia.canopy.tree.domain.ReportBatchShardStatus.RUNNING, " +
+            "s.owner = :owner, s.leaseUntil = :leaseUntil, s.updatedAt = :now " +
+            "WHERE s.id = :id AND (s.status = asia.canopy.tree.domain.ReportBatchShardStatus.PENDING " +
+            "OR (s.status = asia.canopy.tree.domain.ReportBatchShardStatus.RUNNING " +
+            "AND (s.leaseUntil IS NULL OR s.leaseUntil < :now)))")
+    int claim(@Param("id") Long id, @Param("owner") String owner,
+              @Param("leaseUntil") LocalDateTime leaseUntil, @Param("now") LocalDateTime now);
+
+    // 진행 상황을 기록하고 리스를 연장 (샤드를 다른 노드에 빼앗겼다면 0 반환)
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportBatchShard s SET s.lastUserId = :lastUserId, s.processed = s.processed + :processed, " +
+            "s.failed = s.failed + :failed, s.leaseUntil = :leaseUntil, s.updatedAt = :now " +
+            "WHERE s.id = :id AND s.owner = :owner " +
+            "AND s.status = asia.canopy.tree.domain.ReportBatchShardStatus.RUNNING")
+    int checkpoint(@Param("id") Long id, @Param("owner") String owner, @Param("lastUserId") Long lastUserId,
+                   @Param("processed") int processed, @Param("failed") int failed,
+                   @Param("leaseUntil") LocalDateTime leaseUntil, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportBatchShard s SET s.status = asia.canopy.tree.domain.ReportBatchShardStatus.COMPLETED, " +
+            "s.leaseUntil = null, s.updatedAt = :now WHERE s.id = :id AND s.owner = :owner")
+    int complete(@Param("id") Long id, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
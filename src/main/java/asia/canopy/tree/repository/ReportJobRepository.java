@@ -0,0 +1,60 @@
+package asia.canopy.tree.repository;
+
+import asia.canopy.tree.domain.ReportJob;
+import asia.canopy.tree.domain.ReportJobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+    Optional<ReportJob> findByIdAndUserUserId(Long id, Long userId);
+
+    // 같은 사용자/월에 대해 대기 중이거나 실행 중인 작업 조회
+    Optional<ReportJob> findFirstByUserUserIdAndYearAndMonthAndStatusInOrderByCreatedAtDesc(
+            Long userId, Integer year, Integer month, Collection<ReportJobStatus> statuses);
+
+    List<ReportJob> findByStatusOrderByCreatedAt(ReportJobStatus status, Pageable pageable);
+
+    // 대기 중인 작업을 실행 상태로 선점 (다른 워커가 먼저 가져갔다면 0 반환)
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = asia.canopy.tree.domain.ReportJobStatus.RUNNING, j.startedAt = :now, j.attempts = j.attempts + 1 " +
+            "WHERE j.id = :id AND j.status = asia.canopy.tree.domain.ReportJobStatus.PENDING")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = :status, j.errorMessage = :errorMessage, j.finishedAt = :now, " +
+            "j.activeKey = null WHERE j.id = :id")
+    int finish(@Param("id") Long id, @Param("status") ReportJobStatus status,
+               @Param("errorMessage") String errorMessage, @Param("now") LocalDateTime now);
+
+    // 재시작 등으로 중단된 실행 중 작업을 다시 대기 상태로 되돌림 (실행 횟수는 claim에서 증가)
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = asia.canopy.tree.domain.ReportJobStatus.PENDING " +
+            "WHERE j.status = asia.canopy.tree.domain.ReportJobStatus.RUNNING AND j.startedAt < :staleBefore " +
+            "AND j.attempts < :maxAttempts")
+    int requeueStale(@Param("staleBefore") LocalDateTime staleBefore, @Param("maxAttempts") int maxAttempts);
+
+    // 최대 실행 횟수만큼 중단된 작업은 더 이상 재시도하지 않고 실패 처리
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = asia.canopy.tree.domain.ReportJobStatus.FAILED, " +
+            "j.errorMessage = :errorMessage, j.finishedAt = :now, j.activeKey = null " +
+            "WHERE j.status = asia.canopy.tree.domain.ReportJobStatus.RUNNING AND j.startedAt < :staleBefore " +
+            "AND j.attempts >= :maxAttempts")
+    int failExhausted(@Param("staleBefore") LocalDateTime staleBefore, @Param("maxAttempts") int maxAttempts,
+                      @Param("errorMessage") String errorMessage, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,47 @@
+package asia.canopy.tree.repository;
+
+import asia.canopy.tree.domain.ReportLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ReportLeaseRepository extends JpaRepository<ReportLease, String> {
+
+    // 만료되었거나 이미 보유 중인 리스를 가져옴
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportLease l SET l.owner = :owner, l.expiresAt = :expiresAt " +
+            "WHERE l.leaseKey = :leaseKey AND (l.expiresAt < :now OR l.owner = :owner)")
+    int takeOver(@Param("leaseKey") String leaseKey, @Param("owner") String owner,
+                 @Param("expiresAt") LocalDateTime expiresAt, @Param("now") LocalDateTime now);
+
+    // 새 리스 생성 (이미 있으면 기본 키 중복으로 실패)
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO report_leases (lease_key, owner, expires_at) VALUES (:leaseKey, :owner, :expiresAt)",
+            nativeQuery = true)
+    int insert(@Param("leaseKey") String leaseKey, @Param("owner") String owner,
+               @Param("expiresAt") LocalDateTime expiresAt);
+
+    // 보유 중인 리스의 만료 시각을 연장 (다른 노드가 가져갔다면 0 반환)
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportLease l SET l.expiresAt = :expiresAt WHERE l.leaseKey = :leaseKey AND l.owner = :owner")
+    int renew(@Param("leaseKey") String leaseKey, @Param("owner") String owner,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ReportLease l WHERE l.leaseKey = :leaseKey AND l.owner = :owner")
+    int release(@Param("leaseKey") String leaseKey, @Param("owner") String owner);
+
+    boolean existsByLeaseKeyAndExpiresAtGreaterThanEqual(String leaseKey, LocalDateTime now);
+
+    boolean existsByLeaseKeyAndOwnerAndExpiresAtGreaterThanEqual(String leaseKey, String owner, LocalDateTime now);
+}
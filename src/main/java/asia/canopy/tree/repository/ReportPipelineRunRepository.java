@@ -0,0 +1,29 @@
+package asia.canopy.tree.repository;
+
+import asia.canopy.tree.domain.ReportPipelineRun;
+import asia.canopy.tree.domain.ReportPipelineRunStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface ReportPipelineRunRepository extends JpaRepository<ReportPipelineRun, Long> {
+
+    Optional<ReportPipelineRun> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+
+    // 같은 입력으로 실행하다 중단된 가장 최근 실행 조회
+    Optional<ReportPipelineRun> findFirstByUserIdAndYearAndMonthAndInputKeyAndStatusInOrderByIdDesc(
+            Long userId, Integer year, Integer month, String inputKey, Collection<ReportPipelineRunStatus> statuses);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ReportPipelineRun r WHERE r.updatedAt < :before")
+    int deleteUpdatedBefore(@Param("before") LocalDateTime before);
+}
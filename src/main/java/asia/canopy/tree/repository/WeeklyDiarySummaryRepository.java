@@ -0,0 +1,12 @@
+package asia.canopy.tree.repository;
+
+import asia.canopy.tree.domain.WeeklyDiarySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WeeklyDiarySummaryRepository extends JpaRepository<WeeklyDiarySummary, Long> {
+    List<WeeklyDiarySummary> findByUserUserIdAndYearAndMonth(Long userId, Integer year, Integer month);
+}
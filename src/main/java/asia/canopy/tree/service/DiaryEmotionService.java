@@ -0,0 +1,224 @@
+package asia.canopy.tree.service;
+
+import asia.canopy.tree.domain.DailyEmotionScore;
+import asia.canopy.tree.domain.Diary;
+import asia.canopy.tree.domain.QType;
+import asia.canopy.tree.dto.EmotionTimelineResponse;
+import asia.canopy.tree.exception.BadRequestException;
+import asia.canopy.tree.repository.DailyEmotionScoreRepository;
+import asia.canopy.tree.repository.DiaryRepository;
+import asia.canopy.tree.service.emotion.DiarySentimentScorer;
+import asia.canopy.tree.service.report.ReportLeaseManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 일기 작성/수정/삭제 시 해당 날짜의 감정 점수를 다시 계산하고, 감정 점수 시계열을 제공합니다.
+ * 점수는 로컬 감정 단어 사전으로 계산하므로 외부 API를 호출하지 않습니다.
+ * 점수 계산은 일기 트랜잭션이 커밋된 뒤 별도 트랜잭션에서 실행하므로, 점수 저장에 실패해도 일기 저장은 취소되지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DiaryEmotionService {
+
+    private final DiaryRepository diaryRepository;
+    private final DailyEmotionScoreRepository dailyEmotionScoreRepository;
+    private final DiarySentimentScorer sentimentScorer;
+    private final TransactionTemplate transactionTemplate;
+    private final ReportLeaseManager reportLeaseManager;
+
+    private static final String RESCORE_LEASE_KEY = "diary-emotions:rescore";
+
+    @Value("${diary.emotions.max-days:366}")
+    private int maxDays;
+
+    // 한 번에 다시 계산할 이전 버전 점수 수
+    @Value("${diary.emotions.rescore-batch-size:200}")
+    private int rescoreBatchSize;
+
+    // 다음 재계산을 시작할 점수 ID (계속 실패하는 행이 뒤의 행을 막지 않도록 한 바퀴씩 순회)
+    private volatile long rescoreCursor;
+
+    /**
+     * 호출한 트랜잭션이 커밋된 뒤 해당 날짜의 감정 점수를 새 트랜잭션에서 다시 계산합니다.
+     * 트랜잭션 밖에서 호출하면 바로 계산합니다. 실패는 기록만 하고 호출한 쪽으로 전파하지 않습니다.
+     *
+     * @param userId 사용자 ID
+     * @param date   일기 작성 날짜
+     */
+    public void refreshDayAfterCommit(Long userId, LocalDate date) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refreshDaySafely(userId, date);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refreshDaySafely(userId, date);
+            }
+        });
+    }
+
+    /**
+     * 새 트랜잭션에서 점수를 다시 계산합니다.
+     * 같은 날짜의 점수 행을 다른 요청이 동시에 만들어 유니크 키가 충돌하면 한 번 더 계산합니다. (다시 읽어서 갱신)
+     *
+     * @return 성공 여부
+     */
+    private boolean refreshDaySafely(Long userId, LocalDate date) {
+        TransactionTemplate newTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                newTransaction.executeWithoutResult(status -> refreshDay(userId, date));
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= 2) {
+                    log.warn("감정 점수 저장 실패: 사용자 ID={}, 날짜={}, 오류={}", userId, date, e.getMessage());
+                    return false;
+                }
+            } catch (Exception e) {
+                log.warn("감정 점수 계산 실패: 사용자 ID={}, 날짜={}, 오류={}", userId, date, e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 해당 날짜의 일기로 감정 점수를 다시 계산합니다. 같은 시간대의 일기가 여러 개이면 평균을 사용합니다.
+     * 기존 점수 행을 잠근 뒤 일기를 읽으므로 같은 날짜의 갱신은 순서대로 반영됩니다.
+     *
+     * @param userId 사용자 ID
+     * @param date   일기 작성 날짜
+     */
+    @Transactional
+    public void refreshDay(Long userId, LocalDate date) {
+        DailyEmotionScore existing = dailyEmotionScoreRepository.findForUpdate(userId, date).orElse(null);
+        List<Diary> diaries = diaryRepository.findByUserUserIdAndCreatedAtBetween(
+                userId, date.atStartOfDay(), date.atTime(LocalTime.MAX));
+        if (diaries.isEmpty()) {
+            dailyEmotionScoreRepository.deleteByUserIdAndScoreDate(userId, date);
+            return;
+        }
+
+        Map<QType, float[]> sums = new EnumMap<>(QType.class);
+        for (Diary diary : diaries) {
+            if (diary.getQtype() == null) {
+                continue;
+            }
+            float[] sum = sums.computeIfAbsent(diary.getQtype(), qtype -> new float[2]);
+            sum[0] += sentimentScorer.score(diary.getDiary());
+            sum[1]++;
+        }
+
+        DailyEmotionScore score = existing != null ? existing : DailyEmotionScore.builder()
+                .userId(userId)
+                .scoreDate(date)
+                .build();
+        for (QType qtype : QType.values()) {
+            float[] sum = sums.get(qtype);
+            score.setScore(qtype, sum != null ? sum[0] / sum[1] : null);
+        }
+        score.setScorerVersion(DiarySentimentScorer.VERSION);
+        dailyEmotionScoreRepository.save(score);
+    }
+
+    /**
+     * 이전 버전의 사전으로 계산된 점수를 조금씩 다시 계산합니다. (날짜별로 짧은 트랜잭션)
+     * 여러 서버 중 리스를 획득한 한 서버만 실행하며, 실패한 날짜는 건너뛰고 다음 순회에서 다시 시도합니다.
+     */
+    @Scheduled(fixedDelayString = "${diary.emotions.rescore-interval-ms:60000}",
+            initialDelayString = "${diary.emotions.rescore-interval-ms:60000}")
+    public void rescoreOutdated() {
+        if (!reportLeaseManager.tryAcquire(RESCORE_LEASE_KEY)) {
+            return;
+        }
+
+        try {
+            List<DailyEmotionScore> outdated = dailyEmotionScoreRepository.findOutdated(
+                    DiarySentimentScorer.VERSION, rescoreCursor, PageRequest.of(0, rescoreBatchSize));
+            if (outdated.isEmpty()) {
+                // 끝까지 순회했으면 처음부터 (이전 순회에서 실패한 날짜 포함)
+                rescoreCursor = 0;
+                return;
+            }
+
+            int failed = 0;
+            for (DailyEmotionScore score : outdated) {
+                if (!refreshDaySafely(score.getUserId(), score.getScoreDate())) {
+                    failed++;
+                }
+            }
+            rescoreCursor = outdated.get(outdated.size() - 1).getId();
+            log.info("이전 버전 감정 점수 재계산: {}건, 실패 {}건", outdated.size(), failed);
+        } finally {
+            reportLeaseManager.release(RESCORE_LEASE_KEY);
+        }
+    }
+
+    /**
+     * 기간 내 감정 점수 시계열을 조회합니다. 일기 본문은 읽지 않습니다.
+     *
+     * @param userId 사용자 ID
+     * @param from   시작 날짜
+     * @param to     종료 날짜 (포함)
+     * @return 날짜별 감정 점수
+     */
+    @Transactional(readOnly = true)
+    public EmotionTimelineResponse getTimeline(Long userId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("시작 날짜는 종료 날짜보다 늦을 수 없습니다.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new BadRequestException("조회 기간은 최대 " + maxDays + "일입니다.");
+        }
+
+        List<EmotionTimelineResponse.DailyEmotionDto> days = dailyEmotionScoreRepository
+                .findByUserIdAndScoreDateBetweenOrderByScoreDate(userId, from, to)
+                .stream()
+                .map(this::toDailyEmotion)
+                .toList();
+
+        return EmotionTimelineResponse.builder()
+                .from(from)
+                .to(to)
+                .days(days)
+                .build();
+    }
+
+    private EmotionTimelineResponse.DailyEmotionDto toDailyEmotion(DailyEmotionScore score) {
+        float sum = 0;
+        int count = 0;
+        for (QType qtype : QType.values()) {
+            Float value = score.getScore(qtype);
+            if (value != null) {
+                sum += value;
+                count++;
+            }
+        }
+        return new EmotionTimelineResponse.DailyEmotionDto(
+                score.getScoreDate(),
+                score.getScore(QType.morning),
+                score.getScore(QType.lunch),
+                score.getScore(QType.evening),
+                count > 0 ? sum / count : null);
+    }
+}
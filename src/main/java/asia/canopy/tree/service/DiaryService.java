@@ -1,17 +1,21 @@
 package asia.canopy.tree.service;
 
 import asia.canopy.tree.domain.Diary;
+import asia.canopy.tree.domain.DiaryChangeEvent;
+import asia.canopy.tree.domain.DiaryChangeType;
 import asia.canopy.tree.domain.QType;
 import asia.canopy.tree.domain.User;
 import asia.canopy.tree.dto.DiaryDto;
 import asia.canopy.tree.dto.DiaryListResponse;
 import asia.canopy.tree.exception.ResourceNotFoundException;
+import asia.canopy.tree.repository.DiaryChangeEventRepository;
 import asia.canopy.tree.repository.DiaryRepository;
 import asia.canopy.tree.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -22,6 +26,8 @@ public class DiaryService {
 
     private final DiaryRepository diaryRepository;
     private final UserRepository userRepository;
+    private final DiaryEmotionService diaryEmotionService;
+    private final DiaryChangeEventRepository diaryChangeEventRepository;
 
     // 사용자의 모든 일기 조회 (카운트 포함)
     @Transactional(readOnly = true)
@@ -86,6 +92,9 @@ public class DiaryService {
                 .build();
 
         diary = diaryRepository.save(diary);
+        // 커밋 후 해당 날짜의 감정 점수 갱신 (점수 저장 실패가 일기 저장을 되돌리지 않도록)
+        diaryEmotionService.refreshDayAfterCommit(userId, diary.getCreatedAt().toLocalDate());
+        recordChange(userId, diary.getCreatedAt().toLocalDate(), DiaryChangeType.CREATED);
         return convertToDto(diary);
     }
 
@@ -113,6 +122,8 @@ public class DiaryService {
         }
 
         diary = diaryRepository.save(diary);
+        diaryEmotionService.refreshDayAfterCommit(userId, diary.getCreatedAt().toLocalDate());
+        recordChange(userId, diary.getCreatedAt().toLocalDate(), DiaryChangeType.UPDATED);
         return convertToDto(diary);
     }
 
@@ -127,7 +138,21 @@ public class DiaryService {
         Diary diary = diaryRepository.findByUserUserIdAndDiaryId(userId, diaryId)
                 .orElseThrow(() -> new ResourceNotFoundException("일기를 찾을 수 없습니다."));
 
+        LocalDate diaryDate = diary.getCreatedAt().toLocalDate();
         diaryRepository.delete(diary);
+        diaryEmotionService.refreshDayAfterCommit(userId, diaryDate);
+        recordChange(userId, diaryDate, DiaryChangeType.DELETED);
+    }
+
+    // 월간 리포트 재분석을 위한 변경 이벤트를 같은 트랜잭션에 기록 (ReportRefreshService가 처리)
+    private void recordChange(Long userId, LocalDate diaryDate, DiaryChangeType changeType) {
+        diaryChangeEventRepository.save(DiaryChangeEvent.builder()
+                .userId(userId)
+                .year(diaryDate.getYear())
+                .month(diaryDate.getMonthValue())
+                .diaryDate(diaryDate)
+                .changeType(changeType)
+                .build());
     }
 
     // Entity to DTO 변환
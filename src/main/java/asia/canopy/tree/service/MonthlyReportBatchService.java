@@ -0,0 +1,249 @@
+package asia.canopy.tree.service;
+
+import asia.canopy.tree.domain.ReportBatchShard;
+import asia.canopy.tree.domain.ReportBatchShardStatus;
+import asia.canopy.tree.repository.DiaryRepository;
+import asia.canopy.tree.repository.MonthlyReportRepository;
+import asia.canopy.tree.repository.ReportBatchShardRepository;
+import asia.canopy.tree.service.report.ReportLeaseManager;
+import asia.canopy.tree.service.report.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 월이 끝난 뒤 지난달 월간 리포트를 미리 생성하는 배치
+ * 사용자들이 월초에 한꺼번에 리포트를 열 때 생기는 생성 요청 몰림을 줄이기 위해 사용합니다.
+ *
+ * 대상 사용자는 userId % shardCount 기준으로 샤드에 나뉘며, 각 샤드는 여러 서버 중 하나가 선점해서 처리합니다.
+ * 사용자 한 명을 처리할 때마다 마지막 사용자 ID를 체크포인트로 기록하므로 재시작 후에도 이어서 처리합니다.
+ * Gemini 호출은 report.batch.gemini-requests-per-second 속도로 제한합니다. (서버별)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MonthlyReportBatchService {
+
+    private final ReportBatchShardRepository shardRepository;
+    private final DiaryRepository diaryRepository;
+    private final MonthlyReportRepository monthlyReportRepository;
+    private final MonthlyReportService monthlyReportService;
+    private final ReportLeaseManager reportLeaseManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${report.batch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${report.batch.shard-count:8}")
+    private int shardCount;
+
+    // 동시에 처리할 샤드 수 (서버별)
+    @Value("${report.batch.workers:2}")
+    private int workers;
+
+    @Value("${report.batch.page-size:100}")
+    private int pageSize;
+
+    @Value("${report.batch.shard-lease-minutes:15}")
+    private long shardLeaseMinutes;
+
+    @Value("${report.batch.gemini-requests-per-second:2}")
+    private double geminiRequestsPerSecond;
+
+    // 리포트 하나를 생성할 때 Gemini를 호출하는 횟수 (다중 호출 모드 기준)
+    @Value("${report.batch.gemini-calls-per-report:4}")
+    private int geminiCallsPerReport;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    // 이 서버의 작업 큐에 들어가 있거나 처리 중인 샤드 ID (같은 샤드를 중복으로 넣지 않도록)
+    private final Set<Long> queuedShardIds = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService executor;
+    private TokenBucketRateLimiter rateLimiter;
+
+    @PostConstruct
+    void init() {
+        executor = Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("report-batch-", 0).factory());
+        rateLimiter = new TokenBucketRateLimiter(geminiRequestsPerSecond, geminiCallsPerReport);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 매월 초 지난달 리포트 생성을 시작합니다.
+     */
+    @Scheduled(cron = "${report.batch.cron:0 0 3 1 * *}")
+    public void runForPreviousMonth() {
+        if (!enabled) {
+            return;
+        }
+        YearMonth previousMonth = YearMonth.now().minusMonths(1);
+        createShards(previousMonth);
+        processIncompleteShards();
+    }
+
+    /**
+     * 중단된 샤드나 다른 서버가 처리하다 멈춘 샤드를 이어서 처리합니다.
+     * 리스가 살아 있는 샤드(다른 서버나 이 서버에서 처리 중)는 건너뜁니다.
+     */
+    @Scheduled(fixedDelayString = "${report.batch.resume-interval-ms:300000}",
+            initialDelayString = "${report.batch.resume-initial-delay-ms:60000}")
+    public void resume() {
+        if (!enabled) {
+            return;
+        }
+        processIncompleteShards();
+    }
+
+    /**
+     * 지정한 월의 배치를 시작합니다. 이미 만들어진 샤드가 있으면 그대로 사용합니다.
+     */
+    public void start(YearMonth yearMonth) {
+        createShards(yearMonth);
+        processIncompleteShards();
+    }
+
+    private void createShards(YearMonth yearMonth) {
+        List<ReportBatchShard> existing = shardRepository.findByYearAndMonthOrderByShardIndex(
+                yearMonth.getYear(), yearMonth.getMonthValue());
+        if (!existing.isEmpty()) {
+            return;
+        }
+
+        for (int i = 0; i < shardCount; i++) {
+            try {
+                shardRepository.saveAndFlush(ReportBatchShard.builder()
+                        .year(yearMonth.getYear())
+                        .month(yearMonth.getMonthValue())
+                        .shardIndex(i)
+                        .shardCount(shardCount)
+                        .status(ReportBatchShardStatus.PENDING)
+                        .build());
+            } catch (DataIntegrityViolationException e) {
+                // 다른 서버가 먼저 만든 샤드
+            }
+        }
+        log.info("월간 리포트 배치 샤드 생성: {}, 샤드 수={}", yearMonth, shardCount);
+    }
+
+    private void processIncompleteShards() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            List<ReportBatchShard> shards = shardRepository.findClaimable(LocalDateTime.now());
+            for (ReportBatchShard shard : shards) {
+                if (!queuedShardIds.add(shard.getId())) {
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        processShard(shard);
+                    } catch (Exception e) {
+                        log.error("월간 리포트 배치 샤드 처리 실패: 샤드 ID={}, 오류={}", shard.getId(), e.getMessage(), e);
+                    } finally {
+                        queuedShardIds.remove(shard.getId());
+                    }
+                });
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void processShard(ReportBatchShard shard) throws InterruptedException {
+        String owner = reportLeaseManager.getNodeId();
+        if (shardRepository.claim(shard.getId(), owner, leaseUntil(), LocalDateTime.now()) == 0) {
+            return;
+        }
+
+        // 선점 직전까지 다른 서버가 기록한 체크포인트부터 시작
+        ReportBatchShard claimed = shardRepository.findById(shard.getId()).orElse(null);
+        if (claimed == null) {
+            return;
+        }
+
+        YearMonth yearMonth = YearMonth.of(claimed.getYear(), claimed.getMonth());
+        LocalDateTime start = LocalDateTime.of(yearMonth.atDay(1), LocalTime.MIN);
+        LocalDateTime end = LocalDateTime.of(yearMonth.atEndOfMonth(), LocalTime.MAX);
+        long lastUserId = claimed.getLastUserId();
+
+        log.info("월간 리포트 배치 샤드 처리 시작: {}, 샤드={}/{}, 체크포인트={}",
+                yearMonth, claimed.getShardIndex(), claimed.getShardCount(), lastUserId);
+
+        while (true) {
+            List<Long> userIds = diaryRepository.findUserIdsWithDiariesBetween(start, end,
+                    claimed.getShardIndex(), claimed.getShardCount(), lastUserId, PageRequest.of(0, pageSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+
+            for (Long userId : userIds) {
+                boolean success = generate(userId, yearMonth);
+                lastUserId = userId;
+                if (shardRepository.checkpoint(claimed.getId(), owner, lastUserId,
+                        1, success ? 0 : 1, leaseUntil(), LocalDateTime.now()) == 0) {
+                    log.warn("월간 리포트 배치 샤드를 다른 서버가 가져갔습니다: 샤드 ID={}", claimed.getId());
+                    return;
+                }
+            }
+        }
+
+        shardRepository.complete(claimed.getId(), owner, LocalDateTime.now());
+        log.info("월간 리포트 배치 샤드 처리 완료: {}, 샤드={}/{}",
+                yearMonth, claimed.getShardIndex(), claimed.getShardCount());
+    }
+
+    /**
+     * 사용자 한 명의 리포트를 생성합니다. 이미 리포트가 있으면 건너뜁니다.
+     *
+     * @return 성공 여부 (건너뛴 경우 포함)
+     */
+    private boolean generate(Long userId, YearMonth yearMonth) throws InterruptedException {
+        if (monthlyReportRepository.existsByUserUserIdAndYearAndMonth(userId, yearMonth.getYear(), yearMonth.getMonthValue())) {
+            count("skipped");
+            return true;
+        }
+
+        rateLimiter.acquire(geminiCallsPerReport);
+        try {
+            monthlyReportService.getOrCreateMonthlyReport(userId, yearMonth.getYear(), yearMonth.getMonthValue());
+            count("generated");
+            return true;
+        } catch (Exception e) {
+            log.warn("월간 리포트 배치 생성 실패: 사용자 ID={}, {}, 오류={}", userId, yearMonth, e.getMessage());
+            count("failed");
+            return false;
+        }
+    }
+
+    private LocalDateTime leaseUntil() {
+        return LocalDateTime.now().plusMinutes(shardLeaseMinutes);
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("report.batch.users", "result", result).increment();
+    }
+}
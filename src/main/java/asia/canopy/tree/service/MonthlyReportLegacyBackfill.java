@@ -0,0 +1,161 @@
+package asia.canopy.tree.service;
+
+import asia.canopy.tree.domain.MonthlyReport;
+import asia.canopy.tree.repository.MonthlyReportRepository;
+import asia.canopy.tree.service.report.ReportLeaseManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 감정 키워드/추천 항목을 JSON 컬럼으로 옮기기 전에 저장된 리포트의 목록 값을
+ * 이전 컬렉션 테이블(monthly_report_emotion_keywords, monthly_report_recommendations)에서 한 번 옮깁니다.
+ *
+ * 서버 시작 시 실행되며, 여러 서버 중 리스를 획득한 한 서버만 실행합니다.
+ * 이전 테이블은 기본적으로 그대로 둡니다. 백업과 이전 결과를 확인한 뒤 report.legacy-collections.drop-tables=true로
+ * 시작하면 목록 컬럼이 비어 있는 리포트가 남지 않은 경우에만 이전 테이블을 삭제합니다.
+ * 이전 테이블이 없으면 아무것도 하지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MonthlyReportLegacyBackfill {
+
+    static final String KEYWORDS_TABLE = "monthly_report_emotion_keywords";
+    static final String RECOMMENDATIONS_TABLE = "monthly_report_recommendations";
+
+    private static final String LEASE_KEY = "migration:monthly-report-collections";
+
+    private final MonthlyReportRepository monthlyReportRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReportLeaseManager reportLeaseManager;
+
+    @Value("${report.legacy-collections.backfill:true}")
+    private boolean enabled;
+
+    @Value("${report.legacy-collections.drop-tables:false}")
+    private boolean dropTables;
+
+    @Value("${report.legacy-collections.batch-size:200}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        boolean keywordsTable = tableExists(KEYWORDS_TABLE);
+        boolean recommendationsTable = tableExists(RECOMMENDATIONS_TABLE);
+        if (!keywordsTable && !recommendationsTable) {
+            return;
+        }
+        if (!reportLeaseManager.tryAcquire(LEASE_KEY)) {
+            log.info("다른 서버에서 이전 리포트 목록 값을 옮기는 중입니다.");
+            return;
+        }
+
+        try {
+            int migrated = backfill(keywordsTable, recommendationsTable);
+            log.info("이전 컬렉션 테이블의 리포트 목록 값 이전 완료: {}건", migrated);
+
+            if (dropTables && monthlyReportRepository.findIdsWithoutListColumns(0L, PageRequest.of(0, 1)).isEmpty()) {
+                dropTable(KEYWORDS_TABLE, keywordsTable);
+                dropTable(RECOMMENDATIONS_TABLE, recommendationsTable);
+            }
+        } catch (Exception e) {
+            // 이전 테이블은 그대로 두고 다음 시작 시 다시 시도
+            log.error("이전 리포트 목록 값 이전 실패: {}", e.getMessage(), e);
+        } finally {
+            reportLeaseManager.release(LEASE_KEY);
+        }
+    }
+
+    /**
+     * 목록 컬럼이 비어 있는 리포트를 ID 순으로 나눠서 옮깁니다.
+     *
+     * @return 옮긴 리포트 수
+     */
+    int backfill(boolean keywordsTable, boolean recommendationsTable) {
+        int migrated = 0;
+        long lastId = 0;
+        while (true) {
+            List<Long> ids = monthlyReportRepository.findIdsWithoutListColumns(lastId, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                return migrated;
+            }
+
+            Map<Long, List<String>> keywords = keywordsTable ? loadKeywords(ids) : Map.of();
+            Map<Long, List<MonthlyReport.Recommendation>> recommendations =
+                    recommendationsTable ? loadRecommendations(ids) : Map.of();
+
+            transactionTemplate.executeWithoutResult(status -> {
+                for (MonthlyReport report : monthlyReportRepository.findAllById(ids)) {
+                    if (report.getEmotionKeywords() == null) {
+                        report.setEmotionKeywords(keywords.getOrDefault(report.getId(), new ArrayList<>()));
+                    }
+                    if (report.getRecommendations() == null) {
+                        report.setRecommendations(recommendations.getOrDefault(report.getId(), new ArrayList<>()));
+                    }
+                }
+            });
+
+            migrated += ids.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+    }
+
+    // 이전 테이블에는 기본 키나 순서 컬럼이 없으므로 DB에 관계없이 같은 순서가 되도록 값으로 정렬
+    private Map<Long, List<String>> loadKeywords(List<Long> ids) {
+        Map<Long, List<String>> keywords = new HashMap<>();
+        jdbcTemplate.query("SELECT report_id, keyword FROM " + KEYWORDS_TABLE + " WHERE report_id IN (:ids) " +
+                        "ORDER BY report_id, keyword",
+                new MapSqlParameterSource("ids", ids),
+                rs -> {
+                    keywords.computeIfAbsent(rs.getLong("report_id"), id -> new ArrayList<>())
+                            .add(rs.getString("keyword"));
+                });
+        return keywords;
+    }
+
+    private Map<Long, List<MonthlyReport.Recommendation>> loadRecommendations(List<Long> ids) {
+        Map<Long, List<MonthlyReport.Recommendation>> recommendations = new HashMap<>();
+        jdbcTemplate.query("SELECT report_id, title, link FROM " + RECOMMENDATIONS_TABLE + " WHERE report_id IN (:ids) " +
+                        "ORDER BY report_id, title, link",
+                new MapSqlParameterSource("ids", ids),
+                rs -> {
+                    recommendations.computeIfAbsent(rs.getLong("report_id"), id -> new ArrayList<>())
+                            .add(new MonthlyReport.Recommendation(rs.getString("title"), rs.getString("link")));
+                });
+        return recommendations;
+    }
+
+    private boolean tableExists(String table) {
+        try {
+            jdbcTemplate.getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM " + table + " WHERE 1 = 0", Long.class);
+            return true;
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
+
+    private void dropTable(String table, boolean exists) {
+        if (exists) {
+            jdbcTemplate.getJdbcTemplate().execute("DROP TABLE " + table);
+            log.info("이전 컬렉션 테이블 삭제: {}", table);
+        }
+    }
+}
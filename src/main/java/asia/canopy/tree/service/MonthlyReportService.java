@@ -3,30 +3,68 @@ package asia.canopy.tree.service;
 import asia.canopy.tree.domain.Diary;
 import asia.canopy.tree.domain.MonthlyReport;
 import asia.canopy.tree.domain.QType;
+import asia.canopy.tree.domain.ReportPipelineRunStatus;
 import asia.canopy.tree.domain.User;
+import asia.canopy.tree.domain.WeeklyDiarySummary;
 import asia.canopy.tree.dto.MonthlyReportDto;
+import asia.canopy.tree.dto.StoredReportPayload;
 import asia.canopy.tree.exception.BadRequestException;
+import asia.canopy.tree.exception.ExternalServiceUnavailableException;
 import asia.canopy.tree.exception.ResourceNotFoundException;
 import asia.canopy.tree.repository.DiaryRepository;
 import asia.canopy.tree.repository.MonthlyReportRepository;
 import asia.canopy.tree.repository.UserRepository;
+import asia.canopy.tree.repository.WeeklyDiarySummaryRepository;
+import asia.canopy.tree.service.report.AnalysisScriptEngine;
+import asia.canopy.tree.service.report.CheckupSuggestion;
+import asia.canopy.tree.service.report.CombinedAnalysis;
+import asia.canopy.tree.service.report.ContentHasher;
+import asia.canopy.tree.service.report.DiaryTokenBudget;
+import asia.canopy.tree.service.report.EmotionAnalysis;
+import asia.canopy.tree.service.report.ExternalCallGuard;
+import asia.canopy.tree.service.report.GeminiTextGenerator;
+import asia.canopy.tree.service.report.IncrementalJsonFieldReader;
+import asia.canopy.tree.service.report.OverviewSummary;
+import asia.canopy.tree.service.report.PromptTokenEstimator;
+import asia.canopy.tree.service.report.RecommendationSearchCache;
+import asia.canopy.tree.service.report.ReportAnalysisProvider;
+import asia.canopy.tree.service.report.ReportLeaseManager;
+import asia.canopy.tree.service.report.ReportPayloadCodec;
+import asia.canopy.tree.service.report.ReportPipelineCheckpoint;
+import asia.canopy.tree.service.report.ReportPipelineRunStore;
+import asia.canopy.tree.service.report.ReportProgressListener;
+import asia.canopy.tree.service.report.ReportResponseParser;
+import asia.canopy.tree.service.report.ReportSingleFlight;
+import asia.canopy.tree.service.report.ReportStage;
+import asia.canopy.tree.service.report.ReportStageExecutor;
+import asia.canopy.tree.service.report.ReportStageTimings;
+import asia.canopy.tree.service.report.RiskAnalysis;
+import asia.canopy.tree.service.report.RiskPreScreen;
+import asia.canopy.tree.service.report.RiskScreenResult;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.YearMonth;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -34,20 +72,54 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class MonthlyReportService {
 
+    // 프롬프트 문구를 수정하면 버전을 올려 이전 응답 캐시를 무효화합니다.
+    private static final String PROMPT_VERSION = "v1";
+
+    // 위험 사전 검사가 LOW라서 LLM 위험 분석을 생략한 경우의 분석 문단
+    private static final String LOW_RISK_ANALYSIS = "No notable signs of mental health risk were found in this month's diaries. " +
+            "Keep looking after yourself with the small routines and moments of rest that helped you this month.";
+
+    // gate 모드에서 위험 사전 검사가 HIGH라서 LLM 판단과 달리 위험으로 표시한 경우의 분석 문단
+    private static final String HIGH_RISK_ANALYSIS = "Some of this month's diary entries include expressions related to " +
+            "self-harm or not wanting to go on. These words can carry many meanings, but they are worth taking seriously. " +
+            "Consider taking a short self-assessment, and if these feelings continue, please reach out to someone you trust " +
+            "or a mental health professional. In Korea, you can call 109 (suicide prevention hotline) at any time.";
+
+    // report_pipeline_runs.idempotency_key 컬럼 길이
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+
     private final DiaryRepository diaryRepository;
     private final UserRepository userRepository;
     private final MonthlyReportRepository monthlyReportRepository;
-    private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
-
-    @Value("${gemini.api-key}")
-    private String geminiApiKey;
-
-    @Value("${google.cse.api-key}")
-    private String googleCseApiKey;
-
-    @Value("${google.cse.engine-id}")
-    private String googleCseEngineId;
+    private final ReportStageExecutor stageExecutor;
+    private final ReportAnalysisProvider analysisProvider;
+    private final ExternalCallGuard externalCallGuard;
+    private final DiaryTokenBudget diaryTokenBudget;
+    private final ReportSingleFlight reportSingleFlight;
+    private final ReportLeaseManager reportLeaseManager;
+    private final TransactionTemplate transactionTemplate;
+    private final GeminiTextGenerator geminiTextGenerator;
+    private final RecommendationSearchCache recommendationSearchCache;
+    private final WeeklyDiarySummaryRepository weeklyDiarySummaryRepository;
+    private final ReportPayloadCodec reportPayloadCodec;
+    private final RiskPreScreen riskPreScreen;
+    private final AnalysisScriptEngine analysisScriptEngine;
+    private final ReportPipelineRunStore pipelineRunStore;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${report.summarization.incremental:false}")
+    private boolean incrementalSummarization;
+
+    // multi: 단계별 다중 호출, combined: 구조화된 단일 호출
+    @Value("${report.pipeline.mode:multi}")
+    private String pipelineMode;
+
+    @Value("${report.lease.wait-ms:180000}")
+    private long leaseWaitMillis;
+
+    @Value("${report.lease.poll-interval-ms:1000}")
+    private long leasePollMillis;
 
     /**
      * 특정 월의 리포트를 조회하고, 없으면 생성합니다. (기존 리포트 우선 활용)
@@ -57,47 +129,332 @@ public class MonthlyReportService {
      * @param month  월
      * @return 월간 리포트 DTO
      */
-    @Transactional(readOnly = true)
     public MonthlyReportDto getOrCreateMonthlyReport(Long userId, int year, int month) {
+        return getOrCreateMonthlyReport(userId, year, month, ReportProgressListener.NONE);
+    }
+
+    /**
+     * 특정 월의 리포트를 조회하고, 없으면 생성합니다.
+     * 새로 생성하는 경우 각 단계가 끝날 때마다 리스너에 결과를 전달합니다.
+     * (다른 요청이 이미 생성 중이라 그 결과를 함께 받는 경우에는 단계별 결과가 전달되지 않습니다)
+     */
+    public MonthlyReportDto getOrCreateMonthlyReport(Long userId, int year, int month, ReportProgressListener listener) {
         // 기존 리포트 조회
-        Optional<MonthlyReport> existingReport = monthlyReportRepository.findByUserUserIdAndYearAndMonth(userId, year, month);
+        Optional<MonthlyReportDto> existingReport = findStoredReport(userId, year, month);
 
         if (existingReport.isPresent()) {
             log.info("기존 리포트를 반환합니다: 사용자 ID={}, 연도={}, 월={}", userId, year, month);
-            return convertToDto(existingReport.get());
+            return existingReport.get();
         } else {
             // 리포트가 없으면 새로 생성
-            return generateMonthlyReport(userId, year, month);
+            return reportSingleFlight.run(reportKey(userId, year, month),
+                    () -> generateUnderLease(userId, year, month, true, null, false, listener));
         }
     }
 
     /**
-     * 특정 월의 일기를 분석하여 월간 리포트를 생성합니다. 이미 생성된 리포트가 있더라도 새로 생성합니다.
+     * 저장된 월간 리포트를 조회합니다. 리포트를 새로 생성하지 않습니다.
+     *
+     * @param userId 사용자 ID
+     * @param year   연도
+     * @param month  월
+     * @return 저장된 월간 리포트 DTO (없으면 empty)
+     */
+    @Transactional(readOnly = true)
+    public Optional<MonthlyReportDto> findMonthlyReport(Long userId, int year, int month) {
+        return monthlyReportRepository.findByUserUserIdAndYearAndMonth(userId, year, month)
+                .map(MonthlyReportDto::fromEntity);
+    }
+
+    /**
+     * 저장된 월간 리포트의 직렬화된 응답 본문을 조회합니다.
+     * 본문이 없는 이전 리포트는 isAvailable()이 false이므로 findMonthlyReport로 조회해야 합니다.
+     *
+     * @param userId 사용자 ID
+     * @param year   연도
+     * @param month  월
+     * @return 저장된 응답 본문 (리포트가 없으면 empty)
+     */
+    @Transactional(readOnly = true)
+    public Optional<StoredReportPayload> findMonthlyReportPayload(Long userId, int year, int month) {
+        return monthlyReportRepository.findPayload(userId, year, month);
+    }
+
+    /**
+     * 특정 월의 일기를 분석하여 월간 리포트를 생성합니다.
+     * 마지막 리포트 생성 이후 해당 월의 일기가 바뀌지 않았으면 저장된 리포트를 반환합니다.
      *
      * @param userId 사용자 ID
      * @param year   연도
      * @param month  월
      * @return 월간 리포트 DTO
      */
-    @Transactional
     public MonthlyReportDto generateMonthlyReport(Long userId, int year, int month) {
-        // 사용자 조회
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("사용자를 찾을 수 없습니다."));
+        return generateMonthlyReport(userId, year, month, false);
+    }
 
-        // 월의 시작일과 마지막일 계산
+    /**
+     * 특정 월의 일기를 분석하여 월간 리포트를 생성합니다.
+     * 같은 사용자/월에 대해 동시에 들어온 요청은 하나의 생성 작업 결과를 함께 받습니다.
+     *
+     * @param userId 사용자 ID
+     * @param year   연도
+     * @param month  월
+     * @param force  true이면 일기가 바뀌지 않았어도 새로 생성
+     * @return 월간 리포트 DTO
+     */
+    public MonthlyReportDto generateMonthlyReport(Long userId, int year, int month, boolean force) {
+        return generateMonthlyReport(userId, year, month, force, null);
+    }
+
+    /**
+     * 특정 월의 일기를 분석하여 월간 리포트를 생성합니다.
+     * Idempotency-Key가 있으면 같은 키로 다시 들어온 요청은 같은 생성 실행에 연결됩니다.
+     * 이미 완료된 실행이면 저장된 리포트를 반환하고, 중단된 실행이면 완료된 단계 다음부터 이어서 생성합니다.
+     *
+     * @param userId         사용자 ID
+     * @param year           연도
+     * @param month          월
+     * @param force          true이면 일기가 바뀌지 않았어도 새로 생성
+     * @param idempotencyKey 클라이언트가 보낸 Idempotency-Key (없으면 null)
+     * @return 월간 리포트 DTO
+     */
+    public MonthlyReportDto generateMonthlyReport(Long userId, int year, int month, boolean force,
+                                                  String idempotencyKey) {
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+            throw new BadRequestException("Idempotency-Key는 1~" + MAX_IDEMPOTENCY_KEY_LENGTH + "자여야 합니다.");
+        }
+        Optional<MonthlyReportDto> replayed = findCompletedRunReport(userId, year, month, idempotencyKey);
+        if (replayed.isPresent()) {
+            log.info("같은 Idempotency-Key로 완료된 리포트를 반환합니다: 사용자 ID={}, 연도={}, 월={}", userId, year, month);
+            return replayed.get();
+        }
+        if (!force) {
+            Optional<MonthlyReportDto> unchangedReport = findUnchangedReport(userId, year, month);
+            if (unchangedReport.isPresent()) {
+                log.info("일기 변경이 없어 저장된 리포트를 반환합니다: 사용자 ID={}, 연도={}, 월={}", userId, year, month);
+                meterRegistry.counter("report.regeneration.skipped").increment();
+                return unchangedReport.get();
+            }
+        }
+        // 조회(GET)나 조건이 다른 생성 요청과 결과를 공유하지 않도록 force와 Idempotency-Key까지 키에 포함
+        String flightKey = reportKey(userId, year, month) + ":generate:" + force + ":"
+                + (idempotencyKey != null ? idempotencyKey : "");
+        return reportSingleFlight.run(flightKey,
+                () -> generateUnderLease(userId, year, month, false, idempotencyKey, force,
+                        ReportProgressListener.NONE));
+    }
+
+    /**
+     * Idempotency-Key에 연결된 실행이 이미 완료되었으면 저장된 리포트를 반환합니다.
+     *
+     * @throws BadRequestException 다른 월의 요청에 사용된 키인 경우
+     */
+    private Optional<MonthlyReportDto> findCompletedRunReport(Long userId, int year, int month, String idempotencyKey) {
+        return pipelineRunStore.findByIdempotencyKey(userId, idempotencyKey)
+                .filter(run -> {
+                    if (run.getYear() != year || run.getMonth() != month) {
+                        throw new BadRequestException("다른 월의 리포트 요청에 사용된 Idempotency-Key입니다.");
+                    }
+                    return run.getStatus() == ReportPipelineRunStatus.COMPLETED;
+                })
+                .flatMap(run -> findStoredReport(userId, year, month));
+    }
+
+    /**
+     * 저장된 리포트의 일기 변경 감지값이 현재 일기와 같으면 그 리포트를 반환합니다.
+     */
+    private Optional<MonthlyReportDto> findUnchangedReport(Long userId, int year, int month) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> monthlyReportRepository.findByUserUserIdAndYearAndMonth(userId, year, month)
+                .filter(report -> report.getDiaryFingerprint() != null
+                        && report.getDiaryFingerprint().equals(diaryFingerprint(userId, year, month)))
+                .map(MonthlyReportDto::fromEntity));
+    }
+
+    private String diaryFingerprint(Long userId, int year, int month) {
         YearMonth yearMonth = YearMonth.of(year, month);
-        LocalDateTime startOfMonth = LocalDateTime.of(yearMonth.atDay(1), LocalTime.MIN);
-        LocalDateTime endOfMonth = LocalDateTime.of(yearMonth.atEndOfMonth(), LocalTime.MAX);
+        return diaryRepository.findFingerprint(userId,
+                        LocalDateTime.of(yearMonth.atDay(1), LocalTime.MIN),
+                        LocalDateTime.of(yearMonth.atEndOfMonth(), LocalTime.MAX))
+                .toValue(PROMPT_VERSION);
+    }
 
-        // 해당 월의 일기 조회
-        List<Diary> monthlyDiaries = diaryRepository.findByUserUserIdAndCreatedAtBetween(userId, startOfMonth, endOfMonth);
+    /**
+     * 노드 간 리스를 획득한 경우에만 리포트를 생성합니다.
+     * 다른 노드가 생성 중이면 리스가 풀릴 때까지 기다렸다가, 리스를 획득한 뒤 저장된 리포트를 쓸 수 있는지 다시 확인합니다.
+     * (강제 재생성이면 다른 노드의 결과를 쓰지 않고, 그 노드가 실패했으면 직접 생성)
+     *
+     * @param refresh 강제 재생성 여부 (캐시된 응답과 중단된 실행의 결과를 사용하지 않음)
+     */
+    private MonthlyReportDto generateUnderLease(Long userId, int year, int month, boolean reuseExisting,
+                                                String idempotencyKey, boolean refresh,
+                                                ReportProgressListener listener) {
+        String leaseKey = reportKey(userId, year, month);
+        long deadline = System.currentTimeMillis() + leaseWaitMillis;
+
+        while (true) {
+            if (reportLeaseManager.tryAcquire(leaseKey)) {
+                try {
+                    // 리스를 기다리는 동안 다른 노드가 생성을 마쳤을 수 있음
+                    if (reuseExisting) {
+                        Optional<MonthlyReportDto> existingReport = findStoredReport(userId, year, month);
+                        if (existingReport.isPresent()) {
+                            return existingReport.get();
+                        }
+                    }
+                    // 같은 키의 이전 요청이 리스를 기다리는 동안 완료되었을 수 있음
+                    Optional<MonthlyReportDto> replayed = findCompletedRunReport(userId, year, month, idempotencyKey);
+                    if (replayed.isPresent()) {
+                        return replayed.get();
+                    }
+                    // 다른 노드가 같은 일기로 생성을 마쳤으면 그 리포트를 사용
+                    if (!reuseExisting && !refresh) {
+                        Optional<MonthlyReportDto> unchangedReport = findUnchangedReport(userId, year, month);
+                        if (unchangedReport.isPresent()) {
+                            return unchangedReport.get();
+                        }
+                    }
+                    return doGenerateMonthlyReport(userId, year, month, idempotencyKey, refresh, listener);
+                } finally {
+                    reportLeaseManager.release(leaseKey);
+                }
+            }
+
+            if (System.currentTimeMillis() > deadline) {
+                throw new BadRequestException("다른 요청에서 리포트를 생성 중입니다. 잠시 후 다시 시도해주세요.");
+            }
 
-        if (monthlyDiaries.isEmpty()) {
-            throw new ResourceNotFoundException("해당 월의 일기가 존재하지 않습니다.");
+            log.debug("다른 노드에서 리포트 생성 중, 대기: 키={}", leaseKey);
+            try {
+                Thread.sleep(leasePollMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BadRequestException("리포트 생성 대기 중 중단되었습니다.");
+            }
         }
+    }
+
+    /**
+     * 저장된 리포트를 새 읽기 전용 트랜잭션에서 조회합니다. (다른 노드가 커밋한 결과도 보이도록)
+     */
+    private Optional<MonthlyReportDto> findStoredReport(Long userId, int year, int month) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return readOnly.execute(status -> monthlyReportRepository.findByUserUserIdAndYearAndMonth(userId, year, month)
+                .map(MonthlyReportDto::fromEntity));
+    }
+
+    private String reportKey(Long userId, int year, int month) {
+        return "report:" + userId + ":" + YearMonth.of(year, month);
+    }
+
+    /**
+     * 리포트를 생성하고 저장합니다.
+     * 외부 API를 기다리는 동안 DB 커넥션을 점유하지 않도록 세 단계로 나눠서 실행합니다.
+     * 1. 읽기: 짧은 읽기 전용 트랜잭션에서 사용자와 일기를 조회
+     * 2. 분석: 트랜잭션 없이 Gemini/CSE 호출
+     * 3. 쓰기: 짧은 트랜잭션에서 기존 리포트를 교체
+     *
+     * 분석 단계 결과는 완료될 때마다 실행 체크포인트에 기록되며, 같은 입력으로 다시 생성하면 완료된 단계는 건너뜁니다.
+     * 강제 재생성(refresh)이면 응답 캐시와 저장된 주간 요약을 사용하지 않고 Gemini를 다시 호출합니다.
+     * (같은 Idempotency-Key의 재시도는 그 실행의 체크포인트를 이어서 사용)
+     */
+    private MonthlyReportDto doGenerateMonthlyReport(Long userId, int year, int month, String idempotencyKey,
+                                                     boolean refresh, ReportProgressListener listener) {
+        ReportInput input = loadReportInput(userId, year, month);
+        User user = input.user();
+        Map<LocalDate, Map<QType, String>> diaryEntriesByDate = input.diaryEntriesByDate();
+        ReportPipelineCheckpoint checkpoint = pipelineRunStore.start(userId, year, month,
+                ContentHasher.sha256(input.diaryFingerprint(), pipelineMode.toLowerCase(Locale.ROOT),
+                        String.valueOf(incrementalSummarization)),
+                idempotencyKey, !refresh);
 
         try {
+            // Gemini API 요청을 위한 일기 목록 생성
+            List<Map<String, String>> diaryEntries = prepareDiaryEntries(diaryEntriesByDate);
+
+            log.info("일기 분석 시작: 사용자 ID={}, 연도={}, 월={}, 일기 수={}", userId, year, month, diaryEntries.size());
+
+            ReportStageTimings timings = new ReportStageTimings();
+
+            // 토큰 예산 적용 후 분석에 사용할 텍스트: 원문 전체 또는 주간 요약 (증분 모드)
+            DiaryTokenBudget.Result budget = diaryTokenBudget.apply(diaryEntries);
+            String fullText = createFullText(budget.entries());
+            String diaryText = incrementalSummarization
+                    ? createWeeklySummaryText(user, year, month, diaryEntriesByDate, refresh, timings)
+                    : fullText;
+            recordPromptTokens(budget.originalTokens(), diaryText);
+
+            // 예산 적용 전 원문 전체를 로컬 위험 단어 사전으로 검사 (한 번 순회)
+            RiskScreenResult riskScreen = riskPreScreen.screen(createScreenText(diaryEntriesByDate));
+
+            // 분석 스크립트는 LLM 단계와 겹쳐서 실행
+            CompletableFuture<Map<String, Object>> scriptsFuture = analysisScriptEngine.isEnabled()
+                    ? stageExecutor.submit(ReportStage.SCRIPTS, timings,
+                            () -> analysisScriptEngine.runAll(fullText, budget.entries()))
+                    : CompletableFuture.completedFuture(Map.of());
+
+            // 파이프라인 모드에 따라 분석 실행
+            MonthlyReportDto reportDto = isCombinedMode()
+                    ? runCombinedPipeline(diaryText, riskScreen, refresh, checkpoint, timings, listener)
+                    : runMultiCallPipeline(diaryText, riskScreen, refresh, checkpoint, timings, listener);
+            reportDto.setScriptInsights(stageExecutor.await(scriptsFuture));
+            stageExecutor.recordPipeline(timings);
+
+            // 기존 리포트를 삭제하고 새 리포트 저장 (생성 중 리스를 잃었으면 다른 노드의 결과를 덮어쓰지 않음)
+            MonthlyReport reportEntity = transactionTemplate.execute(status -> {
+                if (!reportLeaseManager.isOwned(reportKey(userId, year, month))) {
+                    meterRegistry.counter("report.lease.lost").increment();
+                    throw new BadRequestException("리포트 생성 중 리스가 만료되어 저장하지 않았습니다.");
+                }
+                monthlyReportRepository.findByUserUserIdAndYearAndMonth(userId, year, month)
+                        .ifPresent(monthlyReportRepository::delete);
+                return saveMonthlyReport(user, year, month, reportDto, budget, riskScreen, input.diaryFingerprint());
+            });
+            checkpoint.complete(reportEntity.getId());
+            log.info("월간 리포트 저장 완료: 사용자 ID={}, 연도={}, 월={}, 리포트 ID={}",
+                    userId, year, month, reportEntity.getId());
+
+            return reportDto;
+
+        } catch (ExternalServiceUnavailableException e) {
+            log.warn("외부 API 사용 불가로 월간 리포트 생성 실패: {}", e.getMessage());
+            checkpoint.fail(e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("월간 리포트 생성 중 오류 발생: {}", e.getMessage(), e);
+            checkpoint.fail(e.getMessage());
+            throw new BadRequestException("월간 리포트를 생성하는 중 오류가 발생했습니다: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 리포트 생성에 필요한 사용자와 일기를 읽기 전용 트랜잭션에서 조회합니다.
+     * 일기는 (일자 -> 일기 유형 -> 본문) 형태로 변환해서 반환하므로 트랜잭션이 끝난 뒤에도 안전하게 사용할 수 있습니다.
+     */
+    private ReportInput loadReportInput(Long userId, int year, int month) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> {
+            // 사용자 조회
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("사용자를 찾을 수 없습니다."));
+
+            // 월의 시작일과 마지막일 계산
+            YearMonth yearMonth = YearMonth.of(year, month);
+            LocalDateTime startOfMonth = LocalDateTime.of(yearMonth.atDay(1), LocalTime.MIN);
+            LocalDateTime endOfMonth = LocalDateTime.of(yearMonth.atEndOfMonth(), LocalTime.MAX);
+
+            // 해당 월의 일기 조회
+            List<Diary> monthlyDiaries = diaryRepository.findByUserUserIdAndCreatedAtBetween(userId, startOfMonth, endOfMonth);
+
+            if (monthlyDiaries.isEmpty()) {
+                throw new ResourceNotFoundException("해당 월의 일기가 존재하지 않습니다.");
+            }
+
             // 일기를 일별로 그룹화 (Map<일자, Map<일기유형, 일기내용>>)
             Map<LocalDate, Map<QType, String>> diaryEntriesByDate = monthlyDiaries.stream()
                     .collect(Collectors.groupingBy(
@@ -107,72 +464,227 @@ public class MonthlyReportService {
                                     Diary::getDiary,
                                     (existing, replacement) -> replacement)
                     ));
+            // 분석 전에 읽은 일기 기준으로 변경 감지값 계산 (분석 중 수정된 일기는 다음 요청에서 반영)
+            return new ReportInput(user, diaryEntriesByDate, diaryFingerprint(userId, year, month));
+        });
+    }
 
-            // Gemini API 요청을 위한 일기 목록 생성
-            List<Map<String, String>> diaryEntries = prepareDiaryEntries(diaryEntriesByDate);
+    /**
+     * 읽기 단계의 결과
+     */
+    private record ReportInput(User user, Map<LocalDate, Map<QType, String>> diaryEntriesByDate,
+                               String diaryFingerprint) {
+    }
 
-            log.info("일기 분석 시작: 사용자 ID={}, 연도={}, 월={}, 일기 수={}", userId, year, month, diaryEntries.size());
+    /**
+     * 단계별 프롬프트로 Gemini를 여러 번 호출하여 분석합니다. (기본 모드)
+     */
+    private MonthlyReportDto runMultiCallPipeline(String diaryText, RiskScreenResult riskScreen, boolean refresh,
+                                                  ReportPipelineCheckpoint checkpoint,
+                                                  ReportStageTimings timings,
+                                                  ReportProgressListener listener) throws Exception {
+        // 감정 분석과 위험 분석은 서로 독립적이므로 동시에 실행
+        CompletableFuture<EmotionAnalysis> emotionFuture = runStage(ReportStage.EMOTION, timings,
+                checkpoint.emotion(), () -> analyzeEmotions(diaryText, refresh), checkpoint::saveEmotion);
+        // 사전 검사가 LOW이고 gate 모드이면 LLM 위험 분석을 생략
+        boolean skipRiskStage = riskPreScreen.skipsLowRisk() && riskScreen.level() == RiskScreenResult.Level.LOW;
+        CompletableFuture<RiskAnalysis> riskFuture = skipRiskStage
+                ? CompletableFuture.completedFuture(new RiskAnalysis(LOW_RISK_ANALYSIS, false))
+                : runStage(ReportStage.RISK, timings, checkpoint.risk(), () -> analyzeRisks(diaryText, refresh),
+                        checkpoint::saveRisk);
+        if (skipRiskStage) {
+            log.debug("위험 사전 검사 LOW: LLM 위험 분석 생략 (점수={})", riskScreen.score());
+        }
 
-            // 감정 분석
-            log.debug("감정 분석 시작");
-            JsonNode emotionAnalysis = analyzeEmotions(diaryEntries);
-            log.debug("감정 분석 완료: {}", emotionAnalysis);
-
-            // 위험 분석
-            log.debug("위험 분석 시작");
-            JsonNode riskAnalysis = analyzeRisks(diaryEntries);
-            boolean hasRisk = riskAnalysis.get("has_mental_health_risk").asBoolean();
-            log.debug("위험 분석 완료: 위험={}", hasRisk);
-
-            // 체크업 추천 (검색 쿼리 생성)
-            log.debug("체크업 추천 생성 시작");
-            JsonNode checkupInfo = generateCheckups(hasRisk);
-            String searchQuery = checkupInfo.get("search_query").asText();
-            log.debug("체크업 추천 생성 완료: 검색 쿼리={}", searchQuery);
-
-            // Google CSE를 사용하여 추천 항목 검색
-            log.debug("Google CSE 검색 시작");
-            List<MonthlyReportDto.RecommendationDto> recommendations = searchRecommendations(searchQuery, hasRisk);
-            log.debug("Google CSE 검색 완료: 추천 항목 수={}", recommendations.size());
-
-            // 개요 요약
-            log.debug("개요 요약 생성 시작");
-            JsonNode overview = summarizeOverview(
-                    emotionAnalysis.get("summary").asText(),
-                    riskAnalysis.get("risk_analysis").asText());
-            log.debug("개요 요약 생성 완료");
-
-            // MonthlyReportDto 생성
-            MonthlyReportDto reportDto = buildMonthlyReportDto(
-                    overview,
-                    emotionAnalysis,
-                    riskAnalysis,
-                    searchQuery,
-                    hasRisk,
-                    recommendations);
-
-            // 기존 리포트가 있으면 삭제
-            monthlyReportRepository.findByUserUserIdAndYearAndMonth(userId, year, month)
-                    .ifPresent(monthlyReportRepository::delete);
-
-            // DB에 저장
-            MonthlyReport reportEntity = saveMonthlyReport(user, year, month, reportDto);
-            log.info("월간 리포트 저장 완료: 사용자 ID={}, 연도={}, 월={}, 리포트 ID={}",
-                    userId, year, month, reportEntity.getId());
+        // 최종 위험 여부와 분석 문단 (gate 모드에서 HIGH이면 위험으로 표시)
+        CompletableFuture<RiskAnalysis> finalRiskFuture = riskFuture.thenApply(risk -> resolveRisk(risk, riskScreen));
+        CompletableFuture<Boolean> riskFlagFuture = finalRiskFuture.thenApply(RiskAnalysis::hasMentalHealthRisk);
+
+        // 단계가 끝나는 대로 리스너에 결과 전달
+        emotionFuture.thenAccept(emotion -> notifyListener(() -> listener.onEmotion(
+                emotion.keywords(), emotion.summary())));
+        finalRiskFuture.thenAccept(risk -> notifyListener(() -> listener.onRisk(
+                risk.analysis(), risk.hasMentalHealthRisk())));
+
+        // 체크업 추천 (검색 쿼리 생성) -> Google CSE 검색: 위험 여부가 필요
+        CompletableFuture<String> searchQueryFuture;
+        if (riskScreen.isHigh() && checkpoint.checkupQuery() == null) {
+            // 사전 검사가 HIGH이면 위험 분석 응답을 기다리지 않고 위험 기준의 검색어를 미리 생성하고,
+            // 최종 위험 여부가 다르면 다시 생성
+            CompletableFuture<String> earlyQueryFuture = stageExecutor.submit(ReportStage.CHECKUP, timings,
+                    () -> generateCheckups(true, refresh).searchQuery());
+            searchQueryFuture = earlyQueryFuture.thenCombine(riskFlagFuture, (query, hasRisk) -> hasRisk
+                            ? CompletableFuture.completedFuture(checkpoint.saveCheckupQuery(query))
+                            : runStage(ReportStage.CHECKUP, timings, null,
+                                    () -> generateCheckups(false, refresh).searchQuery(), checkpoint::saveCheckupQuery))
+                    .thenCompose(Function.identity());
+        } else {
+            searchQueryFuture = riskFlagFuture.thenCompose(hasRisk ->
+                    runStage(ReportStage.CHECKUP, timings, checkpoint.checkupQuery(),
+                            () -> generateCheckups(hasRisk, refresh).searchQuery(), checkpoint::saveCheckupQuery));
+        }
+        CompletableFuture<List<MonthlyReportDto.RecommendationDto>> recommendationsFuture =
+                searchQueryFuture.thenCombine(riskFlagFuture, (query, hasRisk) ->
+                                runStage(ReportStage.SEARCH, timings, checkpoint.recommendations(),
+                                        () -> searchRecommendations(query, hasRisk), checkpoint::saveRecommendations))
+                        .thenCompose(Function.identity());
+        recommendationsFuture.thenAcceptBoth(searchQueryFuture, (recommendations, query) ->
+                notifyListener(() -> listener.onRecommendations(query, recommendations)));
+
+        // 개요 요약: 감정/위험 분석이 끝나면 CSE 검색과 겹쳐서 실행
+        CompletableFuture<OverviewSummary> overviewFuture = emotionFuture.thenCombine(finalRiskFuture, (emotion, risk) ->
+                        runStage(ReportStage.OVERVIEW, timings, checkpoint.overview(),
+                                () -> summarizeOverview(emotion.summary(), risk.analysis(), refresh),
+                                checkpoint::saveOverview))
+                .thenCompose(Function.identity());
+        overviewFuture.thenAccept(overview -> notifyListener(() -> listener.onOverview(
+                overview.oneLineSummary(), overview.overview())));
+
+        EmotionAnalysis emotionAnalysis = stageExecutor.await(emotionFuture);
+        RiskAnalysis riskAnalysis = stageExecutor.await(finalRiskFuture);
+        boolean hasRisk = riskAnalysis.hasMentalHealthRisk();
+        String searchQuery = stageExecutor.await(searchQueryFuture);
+        List<MonthlyReportDto.RecommendationDto> recommendations = stageExecutor.await(recommendationsFuture);
+        OverviewSummary overview = stageExecutor.await(overviewFuture);
+        log.debug("분석 완료: 위험={}, 검색 쿼리={}, 추천 항목 수={}", hasRisk, searchQuery, recommendations.size());
+
+        // MonthlyReportDto 생성
+        return buildMonthlyReportDto(
+                overview,
+                emotionAnalysis,
+                riskAnalysis,
+                searchQuery,
+                hasRisk,
+                recommendations);
+    }
 
-            return reportDto;
+    /**
+     * 한 번의 구조화된 Gemini 호출로 감정/위험/개요/검색어를 함께 분석합니다. (통합 모드)
+     */
+    private MonthlyReportDto runCombinedPipeline(String diaryText, RiskScreenResult riskScreen, boolean refresh,
+                                                 ReportPipelineCheckpoint checkpoint,
+                                                 ReportStageTimings timings,
+                                                 ReportProgressListener listener) throws Exception {
+        // 스트리밍 응답에서 위험 여부와 검색어가 먼저 완성되면 개요 생성이 끝나기 전에 검색을 시작
+        Map<String, String> streamedFields = new ConcurrentHashMap<>();
+        AtomicReference<EarlySearch> earlySearch = new AtomicReference<>();
+        IncrementalJsonFieldReader fieldReader = new IncrementalJsonFieldReader((name, value) -> {
+            streamedFields.put(name, value);
+            String query = streamedFields.get("search_query");
+            String risk = streamedFields.get("has_mental_health_risk");
+            if (query != null && risk != null && earlySearch.get() == null) {
+                boolean hasRisk = Boolean.parseBoolean(risk) || forcesHighRisk(riskScreen);
+                earlySearch.compareAndSet(null, new EarlySearch(query, hasRisk,
+                        stageExecutor.submit(ReportStage.SEARCH, timings, () -> searchRecommendations(query, hasRisk))));
+            }
+        });
+
+        CombinedAnalysis analysis = stageExecutor.await(runStage(ReportStage.COMBINED, timings, checkpoint.combined(),
+                () -> analyzeCombined(diaryText, refresh, fieldReader::feed), checkpoint::saveCombined));
+
+        // 한 번의 호출로 감정/위험/개요가 함께 나오므로 검색 전에 모두 전달
+        List<String> emotionKeywords = analysis.emotionKeywords() != null
+                ? new ArrayList<>(analysis.emotionKeywords()) : new ArrayList<>();
+        // gate 모드에서 사전 검사가 HIGH이면 위험으로 표시하고 분석 문단도 함께 교체
+        RiskAnalysis riskAnalysis = resolveRisk(
+                new RiskAnalysis(analysis.riskAnalysis(), analysis.hasMentalHealthRisk()), riskScreen);
+        boolean hasRisk = riskAnalysis.hasMentalHealthRisk();
+        notifyListener(() -> listener.onEmotion(emotionKeywords, analysis.emotionSummary()));
+        notifyListener(() -> listener.onRisk(riskAnalysis.analysis(), hasRisk));
+
+        // 미리 시작한 검색이 최종 응답과 같은 검색어/위험 여부로 실행된 경우에만 재사용
+        EarlySearch started = earlySearch.get();
+        CompletableFuture<List<MonthlyReportDto.RecommendationDto>> recommendationsFuture =
+                started != null && started.matches(analysis.searchQuery(), hasRisk)
+                        ? started.recommendations().thenApply(checkpoint::saveRecommendations)
+                        : runStage(ReportStage.SEARCH, timings, checkpoint.recommendations(),
+                                () -> searchRecommendations(analysis.searchQuery(), hasRisk),
+                                checkpoint::saveRecommendations);
+        List<MonthlyReportDto.RecommendationDto> recommendations = stageExecutor.await(recommendationsFuture);
+        log.debug("통합 분석 완료: 위험={}, 검색 쿼리={}, 추천 항목 수={}",
+                hasRisk, analysis.searchQuery(), recommendations.size());
+        notifyListener(() -> listener.onRecommendations(analysis.searchQuery(), recommendations));
+        notifyListener(() -> listener.onOverview(analysis.oneLineSummary(), analysis.overview()));
 
+        return MonthlyReportDto.builder()
+                .oneLineSummary(analysis.oneLineSummary())
+                .overview(analysis.overview())
+                .emotionKeywords(emotionKeywords)
+                .emotionSummary(analysis.emotionSummary())
+                .riskAnalysis(riskAnalysis.analysis())
+                .hasMentalHealthRisk(hasRisk)
+                .checkupType(checkupType(hasRisk))
+                .recommendationMessage(recommendationMessage(hasRisk))
+                .searchQuery(analysis.searchQuery())
+                .recommendations(recommendations)
+                .build();
+    }
+
+    /**
+     * 이전 시도에서 완료된 단계 결과가 있으면 그대로 사용하고, 없으면 단계를 실행한 뒤 결과를 체크포인트에 기록합니다.
+     */
+    private <T> CompletableFuture<T> runStage(ReportStage stage, ReportStageTimings timings, T checkpointed,
+                                              Callable<T> task, UnaryOperator<T> checkpoint) {
+        if (checkpointed != null) {
+            log.debug("체크포인트의 단계 결과 사용: 단계={}", stage);
+            meterRegistry.counter("report.pipeline.stage.reused", "stage", stage.name()).increment();
+            return CompletableFuture.completedFuture(checkpointed);
+        }
+        return stageExecutor.submit(stage, timings, () -> checkpoint.apply(task.call()));
+    }
+
+    /**
+     * LLM 위험 분석 결과에 사전 검사 결과를 반영합니다.
+     * assist 모드에서는 LLM 판단을 그대로 사용하고, gate 모드에서 HIGH인데 LLM이 위험이 없다고 판단한 경우에만
+     * 위험으로 바꾸면서 분석 문단도 위험 여부에 맞는 문단으로 교체합니다.
+     */
+    private RiskAnalysis resolveRisk(RiskAnalysis risk, RiskScreenResult riskScreen) {
+        if (risk.hasMentalHealthRisk() || !forcesHighRisk(riskScreen)) {
+            return risk;
+        }
+        log.info("위험 사전 검사 HIGH: LLM 판단과 달리 위험으로 표시 (점수={}, 단어={})",
+                riskScreen.score(), riskScreen.matchedTerms().keySet());
+        meterRegistry.counter("report.risk_screen.forced").increment();
+        return new RiskAnalysis(HIGH_RISK_ANALYSIS, true);
+    }
+
+    private boolean forcesHighRisk(RiskScreenResult riskScreen) {
+        return riskScreen.isHigh() && riskPreScreen.forcesHighRisk();
+    }
+
+    /**
+     * 리스너 오류가 리포트 생성을 실패시키지 않도록 합니다.
+     */
+    private void notifyListener(Runnable notification) {
+        try {
+            notification.run();
         } catch (Exception e) {
-            log.error("월간 리포트 생성 중 오류 발생: {}", e.getMessage(), e);
-            throw new BadRequestException("월간 리포트를 생성하는 중 오류가 발생했습니다: " + e.getMessage());
+            log.warn("리포트 진행 상황 전달 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 통합 분석 응답이 끝나기 전에 시작한 추천 검색
+     */
+    private record EarlySearch(String searchQuery, boolean hasRisk,
+                               CompletableFuture<List<MonthlyReportDto.RecommendationDto>> recommendations) {
+
+        boolean matches(String finalSearchQuery, boolean finalHasRisk) {
+            return searchQuery.equals(finalSearchQuery) && hasRisk == finalHasRisk;
         }
     }
 
+    private boolean isCombinedMode() {
+        return "combined".equalsIgnoreCase(pipelineMode);
+    }
+
     /**
      * 월간 리포트를 DB에 저장합니다.
      */
     @Transactional
-    protected MonthlyReport saveMonthlyReport(User user, int year, int month, MonthlyReportDto reportDto) {
+    protected MonthlyReport saveMonthlyReport(User user, int year, int month, MonthlyReportDto reportDto,
+                                              DiaryTokenBudget.Result budget, RiskScreenResult riskScreen,
+                                              String diaryFingerprint) {
         // 감정 키워드 추출
         List<String> emotionKeywords = reportDto.getEmotionKeywords();
 
@@ -196,32 +708,45 @@ public class MonthlyReportService {
                 .searchQuery(reportDto.getSearchQuery())
                 .emotionKeywords(new ArrayList<>(emotionKeywords))
                 .recommendations(recommendations)
+                .scriptInsights(reportDto.getScriptInsights() != null && !reportDto.getScriptInsights().isEmpty()
+                        ? new LinkedHashMap<>(reportDto.getScriptInsights()) : null)
+                .diaryFingerprint(diaryFingerprint)
+                .promptTokensOriginal(budget.originalTokens())
+                .promptTokensUsed(budget.usedTokens())
+                .promptTokenBudget(budget.budget() > 0 ? budget.budget() : null)
+                .promptDaysUsed(budget.entries().size())
+                .riskScreenScore(riskPreScreen.getMode() != RiskPreScreen.Mode.OFF ? riskScreen.score() : null)
+                .riskScreenLevel(riskPreScreen.getMode() != RiskPreScreen.Mode.OFF ? riskScreen.level().name() : null)
                 .build();
 
+        // 조회 API가 그대로 전송할 수 있도록 저장된 값 기준으로 한 번만 직렬화
+        try {
+            ReportPayloadCodec.Encoded encoded = reportPayloadCodec.encode(MonthlyReportDto.fromEntity(report));
+            report.setPayload(encoded.payload());
+            report.setPayloadEncoding(encoded.encoding());
+            report.setPayloadEtag(encoded.etag());
+        } catch (JsonProcessingException e) {
+            // 본문이 없으면 조회 시 DTO를 변환해서 응답하므로 저장은 계속 진행
+            log.warn("리포트 응답 본문 직렬화 실패: 사용자 ID={}, 연도={}, 월={}, 오류={}",
+                    user.getUserId(), year, month, e.getMessage());
+        }
+
         return monthlyReportRepository.save(report);
     }
 
     /**
-     * 엔티티를 DTO로 변환합니다.
+     * 위험 사전 검사용 원문을 만듭니다. 일기마다 줄을 나눠 서로 다른 일기의 단어가 이어지지 않도록 합니다.
      */
-    private MonthlyReportDto convertToDto(MonthlyReport report) {
-        // 추천 항목 변환
-        List<MonthlyReportDto.RecommendationDto> recommendations = report.getRecommendations().stream()
-                .map(rec -> new MonthlyReportDto.RecommendationDto(rec.getTitle(), rec.getLink()))
-                .collect(Collectors.toList());
-
-        return MonthlyReportDto.builder()
-                .oneLineSummary(report.getOneLineSummary())
-                .overview(report.getOverview())
-                .emotionKeywords(report.getEmotionKeywords())
-                .emotionSummary(report.getEmotionSummary())
-                .riskAnalysis(report.getRiskAnalysis())
-                .hasMentalHealthRisk(report.isHasMentalHealthRisk())
-                .checkupType(report.getCheckupType())
-                .recommendationMessage(report.getRecommendationMessage())
-                .searchQuery(report.getSearchQuery())
-                .recommendations(recommendations)
-                .build();
+    private String createScreenText(Map<LocalDate, Map<QType, String>> diaryEntriesByDate) {
+        StringBuilder text = new StringBuilder();
+        for (Map<QType, String> entries : diaryEntriesByDate.values()) {
+            for (String diary : entries.values()) {
+                if (diary != null) {
+                    text.append(diary).append('\n');
+                }
+            }
+        }
+        return text.toString();
     }
 
     /**
@@ -261,91 +786,104 @@ public class MonthlyReportService {
     /**
      * 감정 분석을 수행합니다.
      */
-    private JsonNode analyzeEmotions(List<Map<String, String>> diaryEntries) throws JsonProcessingException {
-        String prompt = createPromptForEmotionAnalysis(diaryEntries);
-        String response = callGeminiApi(prompt);
-        return parseResponse(response, "analyze_emotions");
+    private EmotionAnalysis analyzeEmotions(String diaryText, boolean refresh) {
+        String prompt = createPromptForEmotionAnalysis(diaryText);
+        return ReportResponseParser.parseEmotion(generateText(ReportStage.EMOTION, prompt, refresh));
     }
 
     /**
      * 정신 건강 위험 분석을 수행합니다.
      */
-    private JsonNode analyzeRisks(List<Map<String, String>> diaryEntries) throws JsonProcessingException {
-        String prompt = createPromptForRiskAnalysis(diaryEntries);
-        String response = callGeminiApi(prompt);
-        return parseResponse(response, "analyze_risks");
+    private RiskAnalysis analyzeRisks(String diaryText, boolean refresh) {
+        String prompt = createPromptForRiskAnalysis(diaryText);
+        return ReportResponseParser.parseRisk(generateText(ReportStage.RISK, prompt, refresh));
     }
 
     /**
      * 체크업 추천을 생성합니다.
      */
-    private JsonNode generateCheckups(boolean riskFlag) throws JsonProcessingException {
+    private CheckupSuggestion generateCheckups(boolean riskFlag, boolean refresh) {
         String prompt = createPromptForCheckups(riskFlag);
-        String response = callGeminiApi(prompt);
-        return parseResponse(response, "generate_checkups");
+        return ReportResponseParser.parseCheckup(generateText(ReportStage.CHECKUP, prompt, refresh));
     }
 
     /**
      * 개요 요약을 생성합니다.
      */
-    private JsonNode summarizeOverview(String emotionSummary, String riskAnalysis) throws JsonProcessingException {
+    private OverviewSummary summarizeOverview(String emotionSummary, String riskAnalysis, boolean refresh) {
         String prompt = createPromptForOverview(emotionSummary, riskAnalysis);
-        String response = callGeminiApi(prompt);
-        return parseResponse(response, "summarize_overview");
+        return ReportResponseParser.parseOverview(generateText(ReportStage.OVERVIEW, prompt, refresh));
+    }
+
+    /**
+     * 통합 모드 분석을 수행합니다. 응답 스키마를 지정해 JSON으로 받고 바로 레코드로 변환합니다.
+     */
+    private CombinedAnalysis analyzeCombined(String diaryText, boolean refresh,
+                                             Consumer<String> textChunkConsumer) throws JsonProcessingException {
+        String prompt = createPromptForCombinedAnalysis(diaryText);
+        Map<String, Object> generationConfig = combinedGenerationConfig();
+        String text = generateText(ReportStage.COMBINED, prompt, generationConfig, refresh, textChunkConsumer);
+        try {
+            return objectMapper.readValue(text, CombinedAnalysis.class);
+        } catch (JsonProcessingException e) {
+            log.warn("통합 분석 응답 파싱 실패: {}", text);
+            geminiTextGenerator.invalidate(PROMPT_VERSION, prompt, generationConfig);
+            throw new BadRequestException("API 응답을 파싱할 수 없습니다.");
+        }
+    }
+
+    /**
+     * 통합 모드의 응답 스키마 (Gemini generationConfig)
+     */
+    private Map<String, Object> combinedGenerationConfig() {
+        Map<String, Object> stringType = Map.of("type", "STRING");
+
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("emotion_keywords", Map.of("type", "ARRAY", "items", stringType));
+        properties.put("emotion_summary", stringType);
+        properties.put("risk_analysis", stringType);
+        properties.put("has_mental_health_risk", Map.of("type", "BOOLEAN"));
+        properties.put("search_query", stringType);
+        properties.put("one_line_summary", stringType);
+        properties.put("overview", stringType);
+
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", "OBJECT");
+        schema.put("properties", properties);
+        schema.put("required", new ArrayList<>(properties.keySet()));
+        // Gemini는 기본적으로 속성을 알파벳 순으로 생성하므로, 검색어가 개요보다 먼저 나오도록 순서 지정
+        schema.put("propertyOrdering", new ArrayList<>(properties.keySet()));
+
+        Map<String, Object> generationConfig = new HashMap<>();
+        generationConfig.put("responseMimeType", "application/json");
+        generationConfig.put("responseSchema", schema);
+        return generationConfig;
     }
 
     /**
-     * Google Custom Search API를 사용하여 추천 항목을 검색합니다.
+     * 추천 항목을 검색합니다. (기본 제공자: Google Custom Search API)
      */
     private List<MonthlyReportDto.RecommendationDto> searchRecommendations(String searchQuery, boolean hasRisk) {
-        List<MonthlyReportDto.RecommendationDto> recommendations = new ArrayList<>();
+        // 캐시에 있으면 네트워크 호출 없이 반환 (빈 목록은 최근 실패를 의미)
+        List<MonthlyReportDto.RecommendationDto> cached = recommendationSearchCache.get(searchQuery);
+        if (cached != null) {
+            log.debug("Google CSE 검색 캐시 사용: 쿼리='{}'", searchQuery);
+            return cached.isEmpty() ? getDefaultRecommendations(hasRisk) : new ArrayList<>(cached);
+        }
 
         try {
-            // Google Custom Search API URL
-            String cseUrl = "https://www.googleapis.com/customsearch/v1";
-
-            // 요청 매개변수 설정
-            UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(cseUrl)
-                    .queryParam("key", googleCseApiKey)
-                    .queryParam("cx", googleCseEngineId)
-                    .queryParam("q", searchQuery)
-                    .queryParam("num", 3); // 최대 3개 결과 요청
-
-            // API 호출
-            ResponseEntity<String> response = restTemplate.getForEntity(
-                    builder.toUriString(),
-                    String.class
-            );
-
-            // 응답 처리
-            if (response.getStatusCode() == HttpStatus.OK) {
-                JsonNode rootNode = objectMapper.readTree(response.getBody());
-                JsonNode items = rootNode.path("items");
-
-                if (items.isArray() && items.size() > 0) {
-                    for (JsonNode item : items) {
-                        String title = item.path("title").asText();
-                        String link = item.path("link").asText();
-
-                        // 유효한 제목과 링크인 경우만 추가
-                        if (!title.isEmpty() && !link.isEmpty()) {
-                            recommendations.add(new MonthlyReportDto.RecommendationDto(title, link));
-                        }
-                    }
-
-                    log.info("Google CSE 검색 성공: 쿼리='{}', 결과 수={}", searchQuery, recommendations.size());
-                    return recommendations;
-                } else {
-                    log.warn("Google CSE 검색 결과 없음: 쿼리='{}'", searchQuery);
-                }
-            } else {
-                log.warn("Google CSE API 호출 실패: 상태 코드={}", response.getStatusCode());
+            List<MonthlyReportDto.RecommendationDto> recommendations = externalCallGuard.execute(ExternalCallGuard.CSE,
+                    () -> analysisProvider.search(searchQuery));
+            if (!recommendations.isEmpty()) {
+                recommendationSearchCache.put(searchQuery, recommendations);
+                return recommendations;
             }
         } catch (Exception e) {
-            log.error("Google CSE API 호출 중 오류 발생: {}", e.getMessage(), e);
+            log.error("추천 항목 검색 중 오류 발생: {}", e.getMessage(), e);
         }
 
         // API 호출 실패 또는 결과가 없는 경우 기본 추천 항목 제공
+        recommendationSearchCache.putNegative(searchQuery);
         log.info("기본 추천 항목 사용");
         return getDefaultRecommendations(hasRisk);
     }
@@ -386,9 +924,7 @@ public class MonthlyReportService {
     /**
      * 감정 분석을 위한 프롬프트를 생성합니다.
      */
-    private String createPromptForEmotionAnalysis(List<Map<String, String>> diaryEntries) {
-        String fullText = createFullText(diaryEntries);
-
+    private String createPromptForEmotionAnalysis(String fullText) {
         return "You are an AI emotion analyst.\n\n" +
                 "Analyze the following diary entries written in Korean. These entries include morning, lunch, and dinner reflections each day, written by a single user.\n\n" +
                 "Your task is to summarize the emotional flow of the user throughout the month. Focus on:\n" +
@@ -408,9 +944,7 @@ public class MonthlyReportService {
     /**
      * 위험 분석을 위한 프롬프트를 생성합니다.
      */
-    private String createPromptForRiskAnalysis(List<Map<String, String>> diaryEntries) {
-        String fullText = createFullText(diaryEntries);
-
+    private String createPromptForRiskAnalysis(String fullText) {
         return "You are a mental health analyst AI.\n\n" +
                 "Below are emotional diary entries written by a single user in Korean.\n\n" +
                 "Your task is to analyze these entries and determine whether the user shows any signs of mental health risks such as:\n" +
@@ -464,239 +998,224 @@ public class MonthlyReportService {
     }
 
     /**
-     * 일기 내용을 텍스트로 변환합니다.
+     * 주간 요약을 위한 프롬프트를 생성합니다.
      */
-    private String createFullText(List<Map<String, String>> diaryEntries) {
-        StringBuilder fullText = new StringBuilder();
-
-        for (int i = 0; i < diaryEntries.size(); i++) {
-            Map<String, String> entry = diaryEntries.get(i);
-            fullText.append("Day ").append(i + 1).append(":\n");
-
-            if (entry.containsKey("morning")) {
-                fullText.append("Morning: ").append(entry.get("morning")).append("\n");
-            }
-            if (entry.containsKey("afternoon")) {
-                fullText.append("Afternoon: ").append(entry.get("afternoon")).append("\n");
-            }
-            if (entry.containsKey("evening")) {
-                fullText.append("Evening: ").append(entry.get("evening")).append("\n");
-            }
-
-            fullText.append("\n");
-        }
-
-        return fullText.toString();
+    private String createPromptForWeeklySummary(String weekText) {
+        return "You are an AI emotion analyst.\n\n" +
+                "Below are one week of diary entries written in Korean by a single user (morning, lunch, and evening reflections).\n\n" +
+                "Write a compact summary in English (80~120 words) that will later be combined with other weeks into a monthly report. Include:\n" +
+                "- the dominant emotions of the week and how they changed from day to day\n" +
+                "- notable events or situations that affected the user's mood\n" +
+                "- any signs of fatigue, anxiety, hopelessness, isolation, or self-doubt, stated explicitly if present\n\n" +
+                "Output only the summary paragraph.\n\n" +
+                "Diary:\n" + weekText;
     }
 
     /**
-     * Gemini API를 호출합니다.
+     * 해당 월의 일기를 ISO 주 단위로 요약한 텍스트를 반환합니다.
+     * 내용이 바뀌지 않은 주는 저장된 요약을 재사용하고, 바뀐 주만 다시 요약합니다. (refresh이면 모든 주를 다시 요약)
+     * 변경 여부는 모델 이름, 프롬프트 버전, 프롬프트 전체(템플릿 + 일기)의 해시로 판단합니다.
+     * 트랜잭션 밖에서 호출되며, 요약 조회/저장은 각각 짧은 트랜잭션으로 실행됩니다.
      */
-    private String callGeminiApi(String prompt) {
-        String geminiUrl = "https://generativelanguage.googleapis.com/v1beta/models/gemini-1.5-flash:generateContent";
-
-        try {
-            UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(geminiUrl)
-                    .queryParam("key", geminiApiKey);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            Map<String, Object> requestBody = new HashMap<>();
-            Map<String, Object> content = new HashMap<>();
-            List<Map<String, Object>> parts = new ArrayList<>();
-
-            Map<String, Object> textPart = new HashMap<>();
-            textPart.put("text", prompt);
-            parts.add(textPart);
-
-            content.put("parts", parts);
-            requestBody.put("contents", Collections.singletonList(content));
-
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-
-            ResponseEntity<String> response = restTemplate.exchange(
-                    builder.toUriString(),
-                    HttpMethod.POST,
-                    entity,
-                    String.class
-            );
-
-            if (response.getStatusCode() == HttpStatus.OK) {
-                log.debug("Gemini API 호출 성공");
-                return response.getBody();
-            } else {
-                log.warn("Gemini API 호출 실패: 상태 코드={}", response.getStatusCode());
-                throw new BadRequestException("Gemini API 호출 실패: " + response.getStatusCode());
+    private String createWeeklySummaryText(User user, int year, int month,
+                                           Map<LocalDate, Map<QType, String>> diaryEntriesByDate,
+                                           boolean refresh, ReportStageTimings timings) throws Exception {
+        // 주 시작일(월요일)별로 일기 그룹화
+        TreeMap<LocalDate, Map<LocalDate, Map<QType, String>>> diariesByWeek = new TreeMap<>();
+        diaryEntriesByDate.forEach((date, entries) -> diariesByWeek
+                .computeIfAbsent(date.with(DayOfWeek.MONDAY), week -> new TreeMap<>())
+                .put(date, entries));
+
+        Map<LocalDate, WeeklyDiarySummary> storedSummaries = weeklyDiarySummaryRepository
+                .findByUserUserIdAndYearAndMonth(user.getUserId(), year, month).stream()
+                .collect(Collectors.toMap(WeeklyDiarySummary::getWeekStart, Function.identity()));
+
+        // 내용이 바뀐 주만 병렬로 다시 요약
+        Map<LocalDate, String> weekHashes = new HashMap<>();
+        Map<LocalDate, CompletableFuture<String>> pendingSummaries = new HashMap<>();
+        for (Map.Entry<LocalDate, Map<LocalDate, Map<QType, String>>> week : diariesByWeek.entrySet()) {
+            String prompt = createPromptForWeeklySummary(createWeekText(week.getValue()));
+            // 프롬프트 템플릿이나 모델이 바뀌면 일기가 그대로여도 다시 요약
+            String contentHash = ContentHasher.sha256(analysisProvider.modelName(), PROMPT_VERSION, prompt);
+            weekHashes.put(week.getKey(), contentHash);
+
+            WeeklyDiarySummary stored = storedSummaries.get(week.getKey());
+            if (refresh || stored == null || !contentHash.equals(stored.getContentHash())) {
+                pendingSummaries.put(week.getKey(), stageExecutor.submit(ReportStage.WEEKLY_SUMMARY, timings,
+                        () -> generateText(ReportStage.WEEKLY_SUMMARY, prompt, refresh).trim()));
             }
-        } catch (Exception e) {
-            log.error("Gemini API 호출 중 오류 발생: {}", e.getMessage(), e);
-            throw new BadRequestException("Gemini API 호출 중 오류 발생: " + e.getMessage());
         }
-    }
-
-    /**
-     * API 응답을 파싱합니다.
-     */
-    private JsonNode parseResponse(String response, String functionName) throws JsonProcessingException {
-        JsonNode rootNode = objectMapper.readTree(response);
-        JsonNode candidates = rootNode.path("candidates");
-
-        if (candidates.isArray() && candidates.size() > 0) {
-            JsonNode content = candidates.get(0).path("content");
-            if (content.has("parts") && content.get("parts").isArray() && content.get("parts").size() > 0) {
-                String text = content.get("parts").get(0).path("text").asText();
+        log.info("주간 요약: 전체 {}주, 재요약 {}주", diariesByWeek.size(), pendingSummaries.size());
+
+        for (Map.Entry<LocalDate, CompletableFuture<String>> pending : pendingSummaries.entrySet()) {
+            WeeklyDiarySummary summary = storedSummaries.getOrDefault(pending.getKey(), WeeklyDiarySummary.builder()
+                    .user(user)
+                    .year(year)
+                    .month(month)
+                    .weekStart(pending.getKey())
+                    .build());
+            summary.setSummary(stageExecutor.await(pending.getValue()));
+            summary.setContentHash(weekHashes.get(pending.getKey()));
+            summary.setUpdatedAt(LocalDateTime.now());
+            storedSummaries.put(pending.getKey(), weeklyDiarySummaryRepository.save(summary));
+        }
 
-                // 함수명에 따라 다른 파싱 로직 적용
-                switch (functionName) {
-                    case "analyze_emotions":
-                        return parseEmotionAnalysis(text);
-                    case "analyze_risks":
-                        return parseRiskAnalysis(text);
-                    case "generate_checkups":
-                        return parseCheckups(text);
-                    case "summarize_overview":
-                        return parseOverview(text);
-                    default:
-                        throw new BadRequestException("지원하지 않는 함수명: " + functionName);
-                }
+        // 일기가 모두 삭제된 주의 요약 정리
+        storedSummaries.entrySet().removeIf(stored -> {
+            if (!diariesByWeek.containsKey(stored.getKey())) {
+                weeklyDiarySummaryRepository.delete(stored.getValue());
+                return true;
             }
+            return false;
+        });
+
+        StringBuilder text = new StringBuilder("The following are weekly summaries of the diary entries.\n\n");
+        int weekNumber = 1;
+        for (LocalDate weekStart : diariesByWeek.keySet()) {
+            text.append("Week ").append(weekNumber++)
+                    .append(" (from ").append(weekStart).append("):\n")
+                    .append(storedSummaries.get(weekStart).getSummary())
+                    .append("\n\n");
         }
-
-        log.warn("Gemini API 응답 형식 오류: {}", response);
-        throw new BadRequestException("API 응답을 파싱할 수 없습니다.");
+        return text.toString();
     }
 
     /**
-     * 감정 분석 결과를 파싱합니다.
+     * 한 주의 일기를 날짜와 함께 텍스트로 변환합니다.
      */
-    private JsonNode parseEmotionAnalysis(String text) throws JsonProcessingException {
-        List<String> keywords = new ArrayList<>();
-        StringBuilder summary = new StringBuilder();
-        boolean inKeywords = true;
-
-        // 줄별로 파싱
-        for (String line : text.split("\\n")) {
-            line = line.trim();
-            if (line.isEmpty()) continue;
+    private String createWeekText(Map<LocalDate, Map<QType, String>> weekEntries) {
+        StringBuilder weekText = new StringBuilder();
 
-            // 글머리 기호로 시작하는 줄은 감정 키워드로 처리
-            if (line.startsWith("-") || line.startsWith("*") || line.startsWith("•")) {
-                if (inKeywords) {
-                    String keyword = line.replaceFirst("^[-*•]\\s*", "").trim();
-                    keywords.add(keyword);
-                }
-            } else {
-                // 글머리 기호 없는 줄은 요약으로 처리
-                inKeywords = false;
-                if (summary.length() > 0) summary.append(" ");
-                summary.append(line);
+        weekEntries.forEach((date, entries) -> {
+            weekText.append(date).append(":\n");
+            if (entries.containsKey(QType.morning)) {
+                weekText.append("Morning: ").append(entries.get(QType.morning)).append("\n");
             }
-        }
-
-        // 키워드가 3-5개가 아닌 경우 로그 출력
-        if (keywords.size() < 3 || keywords.size() > 5) {
-            log.warn("감정 키워드 수가 예상과 다릅니다: {}", keywords.size());
-        }
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("keywords", keywords);
-        result.put("summary", summary.toString());
+            if (entries.containsKey(QType.lunch)) {
+                weekText.append("Afternoon: ").append(entries.get(QType.lunch)).append("\n");
+            }
+            if (entries.containsKey(QType.evening)) {
+                weekText.append("Evening: ").append(entries.get(QType.evening)).append("\n");
+            }
+            weekText.append("\n");
+        });
 
-        return objectMapper.valueToTree(result);
+        return weekText.toString();
     }
 
     /**
-     * 위험 분석 결과를 파싱합니다.
+     * 원문 대비 실제 분석에 사용한 텍스트의 추정 토큰 수를 기록합니다.
      */
-    private JsonNode parseRiskAnalysis(String text) throws JsonProcessingException {
-        boolean hasRisk = text.contains("[MENTAL_HEALTH_RISK: YES]");
-        String analysis = text
-                .replace("[MENTAL_HEALTH_RISK: YES]", "")
-                .replace("[MENTAL_HEALTH_RISK: NO]", "")
-                .trim();
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("risk_analysis", analysis);
-        result.put("has_mental_health_risk", hasRisk);
-
-        return objectMapper.valueToTree(result);
+    private void recordPromptTokens(int fullTokens, String diaryText) {
+        int usedTokens = PromptTokenEstimator.estimate(diaryText);
+        meterRegistry.summary("report.prompt.tokens", "source", "full").record(fullTokens);
+        meterRegistry.summary("report.prompt.tokens", "source", "used").record(usedTokens);
+        log.info("분석 텍스트 추정 토큰 수: 원문={}, 사용={}", fullTokens, usedTokens);
     }
 
     /**
-     * 체크업 추천 결과를 파싱합니다.
+     * 통합 분석을 위한 프롬프트를 생성합니다.
      */
-    private JsonNode parseCheckups(String text) throws JsonProcessingException {
-        Map<String, Object> result = new HashMap<>();
-        result.put("search_query", text.trim());
-
-        return objectMapper.valueToTree(result);
+    private String createPromptForCombinedAnalysis(String fullText) {
+        return "You are an AI emotion and mental health analyst generating a monthly report in English.\n\n" +
+                "Below are diary entries written in Korean by a single user (morning, lunch, and evening reflections).\n\n" +
+                "Return a JSON object with these fields:\n" +
+                "- emotion_keywords: exactly 3 to 5 single-word emotions that appeared most frequently (no slashes)\n" +
+                "- emotion_summary: a concise paragraph (200~300 words) summarizing the emotional flow across the month " +
+                "(beginning, middle, and end), including patterns in emotional fluctuation\n" +
+                "- has_mental_health_risk: true if the user shows signs such as persistent low mood or fatigue, " +
+                "emotional exhaustion or burnout, anxiety, irritability, self-doubt, hopelessness, isolation, or avoidance\n" +
+                "- risk_analysis: if risks are detected, a 200~300 word paragraph explaining the signals, when they appear, " +
+                "what kind of risk they may indicate, and a gentle recommendation to take a self-assessment or seek support; " +
+                "otherwise a 200~300 word encouraging paragraph highlighting resilience and self-awareness\n" +
+                "- search_query: a short English search phrase (3~6 words) for a mental health self-assessment test if " +
+                "has_mental_health_risk is true, otherwise for a light personality or emotional quiz\n" +
+                "- one_line_summary: a one-line summary of the month (like a title or quote)\n" +
+                "- overview: a 2-3 sentence summary (<100 words) of the emotional flow and risk analysis\n\n" +
+                "Diary:\n" + fullText;
     }
 
     /**
-     * 개요 요약 결과를 파싱합니다.
+     * 일기 내용을 텍스트로 변환합니다.
      */
-    private JsonNode parseOverview(String text) throws JsonProcessingException {
-        String oneLineSummary = "";
-        StringBuilder paragraphSummary = new StringBuilder();
+    private String createFullText(List<Map<String, String>> diaryEntries) {
+        StringBuilder fullText = new StringBuilder();
 
-        for (String line : text.split("\\n")) {
-            line = line.trim();
-            if (line.isEmpty()) continue;
+        for (int i = 0; i < diaryEntries.size(); i++) {
+            Map<String, String> entry = diaryEntries.get(i);
+            // 토큰 예산으로 일자를 샘플링한 경우에도 원래 일자 순번을 표시
+            fullText.append("Day ").append(entry.getOrDefault(DiaryTokenBudget.DAY_KEY, String.valueOf(i + 1))).append(":\n");
 
-            if (line.startsWith("ONE_LINE_SUMMARY:")) {
-                oneLineSummary = line.replace("ONE_LINE_SUMMARY:", "").trim();
-            } else if (line.startsWith("PARAGRAPH_SUMMARY:")) {
-                String paragraph = line.replace("PARAGRAPH_SUMMARY:", "").trim();
-                paragraphSummary.append(paragraph);
-            } else if (paragraphSummary.length() > 0) {
-                paragraphSummary.append(" ").append(line);
+            if (entry.containsKey("morning")) {
+                fullText.append("Morning: ").append(entry.get("morning")).append("\n");
             }
+            if (entry.containsKey("afternoon")) {
+                fullText.append("Afternoon: ").append(entry.get("afternoon")).append("\n");
+            }
+            if (entry.containsKey("evening")) {
+                fullText.append("Evening: ").append(entry.get("evening")).append("\n");
+            }
+
+            fullText.append("\n");
         }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("one_line_summary", oneLineSummary);
-        result.put("overview", paragraphSummary.toString());
+        return fullText.toString();
+    }
+
+    /**
+     * 프롬프트에 대한 응답 텍스트를 반환합니다. 같은 프롬프트와 설정은 캐시된 응답을 사용합니다.
+     * refresh이면 캐시를 조회하지 않고 새로 생성한 응답으로 캐시를 갱신합니다.
+     */
+    private String generateText(ReportStage stage, String prompt, boolean refresh) {
+        return geminiTextGenerator.generate(stage, PROMPT_VERSION, prompt, refresh);
+    }
 
-        return objectMapper.valueToTree(result);
+    /**
+     * 응답 텍스트 조각을 도착하는 대로 전달받는 버전 (캐시된 응답은 한 번에 전달)
+     */
+    private String generateText(ReportStage stage, String prompt, Map<String, Object> generationConfig,
+                                boolean refresh, Consumer<String> textChunkConsumer) {
+        return geminiTextGenerator.generate(stage, PROMPT_VERSION, prompt, generationConfig, refresh, textChunkConsumer);
     }
 
     /**
      * MonthlyReportDto를 구성합니다.
      */
     private MonthlyReportDto buildMonthlyReportDto(
-            JsonNode overview,
-            JsonNode emotionAnalysis,
-            JsonNode riskAnalysis,
+            OverviewSummary overview,
+            EmotionAnalysis emotionAnalysis,
+            RiskAnalysis riskAnalysis,
             String searchQuery,
             boolean hasRisk,
             List<MonthlyReportDto.RecommendationDto> recommendations) {
 
-        // 감정 키워드 목록 추출
-        List<String> emotionKeywords = new ArrayList<>();
-        if (emotionAnalysis.has("keywords") && emotionAnalysis.get("keywords").isArray()) {
-            for (JsonNode keyword : emotionAnalysis.get("keywords")) {
-                emotionKeywords.add(keyword.asText());
-            }
-        }
-
-        // 체크업 유형 및 메시지 설정
-        String checkupType = hasRisk ? "mental_health_checkup" : "light_personality_quiz";
-        String recommendationMessage = hasRisk
-                ? "Check your mental health with these self-assessment tools:"
-                : "Learn more about yourself with these personality quizzes:";
-
         return MonthlyReportDto.builder()
-                .oneLineSummary(overview.get("one_line_summary").asText())
-                .overview(overview.get("overview").asText())
-                .emotionKeywords(emotionKeywords)
-                .emotionSummary(emotionAnalysis.get("summary").asText())
-                .riskAnalysis(riskAnalysis.get("risk_analysis").asText())
+                .oneLineSummary(overview.oneLineSummary())
+                .overview(overview.overview())
+                .emotionKeywords(new ArrayList<>(emotionAnalysis.keywords()))
+                .emotionSummary(emotionAnalysis.summary())
+                .riskAnalysis(riskAnalysis.analysis())
                 .hasMentalHealthRisk(hasRisk)
-                .checkupType(checkupType)
-                .recommendationMessage(recommendationMessage)
+                .checkupType(checkupType(hasRisk))
+                .recommendationMessage(recommendationMessage(hasRisk))
                 .searchQuery(searchQuery)
                 .recommendations(recommendations)
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * 위험 여부에 따른 체크업 유형
+     */
+    private String checkupType(boolean hasRisk) {
+        return hasRisk ? "mental_health_checkup" : "light_personality_quiz";
+    }
+
+    /**
+     * 위험 여부에 따른 추천 메시지
+     */
+    private String recommendationMessage(boolean hasRisk) {
+        return hasRisk
+                ? "Check your mental health with these self-assessment tools:"
+                : "Learn more about yourself with these personality quizzes:";
+    }
+}
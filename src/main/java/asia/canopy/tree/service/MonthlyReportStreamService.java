@@ -0,0 +1,199 @@
+package asia.canopy.tree.service;
+
+import asia.canopy.tree.dto.MonthlyReportDto;
+import asia.canopy.tree.exception.BadRequestException;
+import asia.canopy.tree.exception.ExternalServiceUnavailableException;
+import asia.canopy.tree.exception.ResourceNotFoundException;
+import asia.canopy.tree.service.report.ReportProgressListener;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 월간 리포트를 Server-Sent Events로 전송합니다.
+ * 요청 스레드는 SseEmitter를 반환한 즉시 반납되고, 리포트 생성은 가상 스레드에서 실행되므로
+ * 연결이 열려 있는 동안 플랫폼 스레드를 점유하지 않습니다.
+ *
+ * 이벤트 순서: emotion, risk, recommendations, overview (완료되는 순서대로) -> complete
+ * 오류가 발생하면 error 이벤트를 보내고 연결을 닫습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MonthlyReportStreamService {
+
+    private final MonthlyReportService monthlyReportService;
+
+    @Value("${report.stream.timeout-ms:180000}")
+    private long timeoutMillis;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 월간 리포트 스트림을 시작합니다. 저장된 리포트가 있으면 모든 섹션을 바로 전송합니다.
+     *
+     * @param userId 사용자 ID
+     * @param year   연도
+     * @param month  월
+     * @return SSE 연결
+     */
+    public SseEmitter stream(Long userId, int year, int month) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        SseReportListener listener = new SseReportListener(emitter);
+        emitter.onTimeout(listener::close);
+        emitter.onError(e -> listener.close());
+
+        executor.execute(() -> {
+            try {
+                MonthlyReportDto report = monthlyReportService.getOrCreateMonthlyReport(userId, year, month, listener);
+                // 저장된 리포트를 반환했거나 다른 요청의 생성 결과를 받은 경우 남은 섹션을 채워서 전송
+                listener.sendRemaining(report);
+                listener.send("complete", report);
+                emitter.complete();
+            } catch (ResourceNotFoundException | BadRequestException | ExternalServiceUnavailableException e) {
+                listener.send("error", Map.of("message", e.getMessage()));
+                emitter.complete();
+            } catch (Exception e) {
+                log.error("월간 리포트 스트림 오류: 사용자 ID={}, 오류={}", userId, e.getMessage(), e);
+                listener.send("error", Map.of("message", "월간 리포트를 생성하는 중 오류가 발생했습니다."));
+                emitter.complete();
+            }
+        });
+
+        return emitter;
+    }
+
+    /**
+     * 단계 결과를 SSE 이벤트로 전송하는 리스너
+     * 여러 단계 스레드에서 동시에 호출될 수 있으므로 전송은 락으로 직렬화합니다.
+     * (가상 스레드가 SSE 전송을 기다리는 동안 캐리어 스레드에 고정되지 않도록 synchronized 대신 ReentrantLock 사용)
+     */
+    private static class SseReportListener implements ReportProgressListener {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean emotionSent;
+        private boolean riskSent;
+        private boolean recommendationsSent;
+        private boolean overviewSent;
+
+        SseReportListener(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onEmotion(List<String> emotionKeywords, String emotionSummary) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("emotionKeywords", emotionKeywords);
+            data.put("emotionSummary", emotionSummary);
+            lock.lock();
+            try {
+                send("emotion", data);
+                emotionSent = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void onRisk(String riskAnalysis, boolean hasMentalHealthRisk) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("riskAnalysis", riskAnalysis);
+            data.put("hasMentalHealthRisk", hasMentalHealthRisk);
+            lock.lock();
+            try {
+                send("risk", data);
+                riskSent = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void onRecommendations(String searchQuery, List<MonthlyReportDto.RecommendationDto> recommendations) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("searchQuery", searchQuery);
+            data.put("recommendations", recommendations);
+            lock.lock();
+            try {
+                send("recommendations", data);
+                recommendationsSent = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void onOverview(String oneLineSummary, String overview) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("oneLineSummary", oneLineSummary);
+            data.put("overview", overview);
+            lock.lock();
+            try {
+                send("overview", data);
+                overviewSent = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void sendRemaining(MonthlyReportDto report) {
+            lock.lock();
+            try {
+                if (!emotionSent) {
+                    onEmotion(report.getEmotionKeywords(), report.getEmotionSummary());
+                }
+                if (!riskSent) {
+                    onRisk(report.getRiskAnalysis(), report.isHasMentalHealthRisk());
+                }
+                if (!recommendationsSent) {
+                    onRecommendations(report.getSearchQuery(), report.getRecommendations());
+                }
+                if (!overviewSent) {
+                    onOverview(report.getOneLineSummary(), report.getOverview());
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void send(String eventName, Object data) {
+            lock.lock();
+            try {
+                if (closed.get()) {
+                    return;
+                }
+                emitter.send(SseEmitter.event().name(eventName).data(data, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트 연결이 끊긴 경우: 리포트 생성은 계속 진행되어 저장됨
+                log.debug("SSE 전송 실패 (연결 종료): 이벤트={}, 오류={}", eventName, e.getMessage());
+                close();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close() {
+            closed.set(true);
+        }
+    }
+}
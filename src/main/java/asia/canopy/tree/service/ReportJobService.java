@@ -0,0 +1,253 @@
+package asia.canopy.tree.service;
+
+import asia.canopy.tree.domain.ReportJob;
+import asia.canopy.tree.domain.ReportJobStatus;
+import asia.canopy.tree.domain.User;
+import asia.canopy.tree.dto.ReportJobResponse;
+import asia.canopy.tree.exception.BadRequestException;
+import asia.canopy.tree.exception.ResourceNotFoundException;
+import asia.canopy.tree.repository.DiaryRepository;
+import asia.canopy.tree.repository.ReportJobRepository;
+import asia.canopy.tree.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 월간 리포트 생성을 DB에 저장된 작업으로 처리합니다.
+ * 요청 스레드는 작업만 등록하고, 고정 크기 워커 풀이 작업을 실행합니다.
+ * 대기 중인 작업은 주기적으로 다시 확인하므로 재시작 후에도 이어서 처리됩니다.
+ * 실행 중 중단된 작업은 최대 실행 횟수까지만 다시 대기 상태로 돌리고, 그 이상이면 실패 처리합니다.
+ * 사용자/월당 진행 중인 작업은 active_key 유니크 제약으로 하나만 등록됩니다. (동시 요청 시 먼저 등록된 작업을 사용)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportJobService {
+
+    private final ReportJobRepository reportJobRepository;
+    private final UserRepository userRepository;
+    private final DiaryRepository diaryRepository;
+    private final MonthlyReportService monthlyReportService;
+
+    @Value("${report.jobs.workers:4}")
+    private int workers;
+
+    @Value("${report.jobs.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${report.jobs.stale-after-minutes:10}")
+    private long staleAfterMinutes;
+
+    // 중단된 작업을 다시 실행할 최대 횟수 (첫 실행 포함)
+    @Value("${report.jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    private ThreadPoolTaskExecutor executor;
+
+    // 워커 풀에 넣었지만 아직 끝나지 않은 작업 (sweep이 같은 작업을 다시 넣지 않도록)
+    private final Set<Long> dispatchedJobIds = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void initExecutor() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        executor.shutdown();
+    }
+
+    /**
+     * 리포트 생성 작업을 등록합니다. 같은 월에 진행 중인 작업이 있으면 그 작업을 반환합니다.
+     *
+     * @param userId 사용자 ID
+     * @param year   연도
+     * @param month  월
+     * @return 등록된 작업
+     */
+    public ReportJobResponse submit(Long userId, int year, int month) {
+        Optional<ReportJob> activeJob = findActiveJob(userId, year, month);
+        if (activeJob.isPresent()) {
+            return ReportJobResponse.fromEntity(activeJob.get());
+        }
+        // 동시에 다른 요청이 먼저 등록했으면 그 작업을 반환
+        return create(userId, year, month)
+                .or(() -> findActiveJob(userId, year, month))
+                .map(ReportJobResponse::fromEntity)
+                .orElseThrow(() -> new BadRequestException("리포트 생성 작업을 등록하지 못했습니다. 잠시 후 다시 시도해주세요."));
+    }
+
+    /**
+     * 같은 월에 진행 중인 작업이 없을 때만 리포트 생성 작업을 등록합니다.
+     * 진행 중인 작업은 이후의 일기 변경을 반영하지 못했을 수 있으므로, 변경에 따른 재생성은 이 메서드를 사용합니다.
+     *
+     * @return 새로 등록한 작업 (진행 중인 작업이 있으면 빈 값)
+     */
+    public Optional<ReportJobResponse> submitIfIdle(Long userId, int year, int month) {
+        if (findActiveJob(userId, year, month).isPresent()) {
+            return Optional.empty();
+        }
+        return create(userId, year, month).map(ReportJobResponse::fromEntity);
+    }
+
+    private Optional<ReportJob> findActiveJob(Long userId, int year, int month) {
+        return reportJobRepository.findFirstByUserUserIdAndYearAndMonthAndStatusInOrderByCreatedAtDesc(
+                userId, year, month, EnumSet.of(ReportJobStatus.PENDING, ReportJobStatus.RUNNING));
+    }
+
+    /**
+     * 새 작업을 등록합니다.
+     *
+     * @return 등록된 작업 (같은 월의 진행 중인 작업이 동시에 등록되었으면 빈 값)
+     */
+    private Optional<ReportJob> create(Long userId, int year, int month) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("사용자를 찾을 수 없습니다."));
+
+        YearMonth yearMonth = YearMonth.of(year, month);
+        if (!diaryRepository.existsByUserUserIdAndCreatedAtBetween(userId,
+                LocalDateTime.of(yearMonth.atDay(1), LocalTime.MIN),
+                LocalDateTime.of(yearMonth.atEndOfMonth(), LocalTime.MAX))) {
+            throw new ResourceNotFoundException("해당 월의 일기가 존재하지 않습니다.");
+        }
+
+        ReportJob job;
+        try {
+            job = reportJobRepository.saveAndFlush(ReportJob.builder()
+                    .user(user)
+                    .year(year)
+                    .month(month)
+                    .status(ReportJobStatus.PENDING)
+                    .activeKey(userId + ":" + yearMonth)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("같은 월의 리포트 생성 작업이 이미 등록되었습니다: 사용자 ID={}, 연도={}, 월={}", userId, year, month);
+            return Optional.empty();
+        }
+        log.info("리포트 생성 작업 등록: 작업 ID={}, 사용자 ID={}, 연도={}, 월={}", job.getId(), userId, year, month);
+
+        dispatch(job.getId());
+        return Optional.of(job);
+    }
+
+    /**
+     * 작업 상태를 조회합니다. 완료된 작업은 생성된 리포트를 함께 반환합니다.
+     */
+    public ReportJobResponse getJob(Long userId, Long jobId) {
+        ReportJob job = reportJobRepository.findByIdAndUserUserId(jobId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("리포트 작업을 찾을 수 없습니다."));
+
+        ReportJobResponse response = ReportJobResponse.fromEntity(job);
+        if (job.getStatus() == ReportJobStatus.COMPLETED) {
+            monthlyReportService.findMonthlyReport(userId, job.getYear(), job.getMonth())
+                    .ifPresent(response::setReport);
+        }
+        return response;
+    }
+
+    /**
+     * 대기 중인 작업을 워커 풀에 넣고, 오래 실행 중인 작업은 다시 대기 상태로 돌립니다.
+     * 이미 워커 풀에 넣은 작업은 다시 넣지 않습니다.
+     */
+    @Scheduled(fixedDelayString = "${report.jobs.sweep-interval-ms:10000}")
+    public void sweep() {
+        LocalDateTime staleBefore = LocalDateTime.now().minusMinutes(staleAfterMinutes);
+        int requeued = reportJobRepository.requeueStale(staleBefore, maxAttempts);
+        if (requeued > 0) {
+            log.warn("중단된 리포트 작업 재등록: {}건", requeued);
+        }
+        int exhausted = reportJobRepository.failExhausted(staleBefore, maxAttempts,
+                "최대 실행 횟수(" + maxAttempts + ")를 초과했습니다.", LocalDateTime.now());
+        if (exhausted > 0) {
+            log.error("실행 횟수를 초과한 리포트 작업 실패 처리: {}건", exhausted);
+        }
+
+        int capacity = executor.getThreadPoolExecutor().getQueue().remainingCapacity();
+        if (capacity <= 0) {
+            return;
+        }
+        List<ReportJob> pendingJobs = reportJobRepository.findByStatusOrderByCreatedAt(
+                ReportJobStatus.PENDING, PageRequest.of(0, capacity));
+        pendingJobs.stream()
+                .map(ReportJob::getId)
+                .filter(jobId -> !dispatchedJobIds.contains(jobId))
+                .forEach(this::dispatch);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        sweep();
+    }
+
+    private void dispatch(Long jobId) {
+        if (!dispatchedJobIds.add(jobId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(jobId);
+                } finally {
+                    dispatchedJobIds.remove(jobId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // 큐가 가득 찬 경우 PENDING 상태로 두고 다음 sweep에서 처리
+            dispatchedJobIds.remove(jobId);
+            log.warn("리포트 작업 큐가 가득 찼습니다: 작업 ID={}", jobId);
+        }
+    }
+
+    private void process(Long jobId) {
+        if (reportJobRepository.claim(jobId, LocalDateTime.now()) == 0) {
+            return;
+        }
+
+        ReportJob job = reportJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+
+        try {
+            monthlyReportService.generateMonthlyReport(job.getUser().getUserId(), job.getYear(), job.getMonth());
+            reportJobRepository.finish(jobId, ReportJobStatus.COMPLETED, null, LocalDateTime.now());
+            log.info("리포트 생성 작업 완료: 작업 ID={}", jobId);
+        } catch (Exception e) {
+            log.error("리포트 생성 작업 실패: 작업 ID={}, 오류={}", jobId, e.getMessage(), e);
+            reportJobRepository.finish(jobId, ReportJobStatus.FAILED, truncate(e.getMessage()), LocalDateTime.now());
+        }
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
@@ -0,0 +1,137 @@
+package asia.canopy.tree.service;
+
+import asia.canopy.tree.dto.PendingDiaryChange;
+import asia.canopy.tree.exception.ResourceNotFoundException;
+import asia.canopy.tree.repository.DiaryChangeEventRepository;
+import asia.canopy.tree.repository.MonthlyReportRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 일기 변경 이벤트(diary_change_events)를 소비해서 저장된 월간 리포트를 백그라운드에서 다시 생성합니다.
+ *
+ * 이벤트는 (사용자, 월) 단위로 모으고, 마지막 변경 이후 quiet-period 동안 추가 변경이 없을 때 처리합니다.
+ * 연속으로 수정한 일기는 한 번의 재생성으로 합쳐지며, 변경이 계속 이어져도 max-delay가 지나면 처리합니다.
+ * 재생성은 리포트 작업(ReportJobService)으로 등록되므로 클라이언트는 기다리지 않고 다음 조회에서 새 리포트를 받습니다.
+ * 같은 월의 작업이 이미 진행 중이면 이벤트를 처리하지 않은 상태로 되돌리고, 그 작업이 끝난 뒤 다음 주기에 다시 등록합니다.
+ * 생성 시 일기 변경 감지값이 같으면 (수정 후 되돌린 경우 등) 분석을 건너뛰고,
+ * 증분 모드에서는 바뀐 주의 요약만 다시 만듭니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportRefreshService {
+
+    private final DiaryChangeEventRepository diaryChangeEventRepository;
+    private final MonthlyReportRepository monthlyReportRepository;
+    private final ReportJobService reportJobService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${report.refresh.enabled:true}")
+    private boolean enabled;
+
+    // 마지막 변경 이후 이 시간 동안 추가 변경이 없으면 재생성
+    @Value("${report.refresh.quiet-period-ms:300000}")
+    private long quietPeriodMillis;
+
+    // 변경이 계속 이어져도 첫 변경 후 이 시간이 지나면 재생성
+    @Value("${report.refresh.max-delay-ms:1800000}")
+    private long maxDelayMillis;
+
+    @Value("${report.refresh.batch-size:100}")
+    private int batchSize;
+
+    @Value("${report.refresh.retention-days:3}")
+    private int retentionDays;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * 조용해진 (사용자, 월)의 변경 이벤트를 처리합니다.
+     */
+    @Scheduled(fixedDelayString = "${report.refresh.poll-interval-ms:30000}",
+            initialDelayString = "${report.refresh.poll-interval-ms:30000}")
+    public void poll() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<PendingDiaryChange> dueChanges = diaryChangeEventRepository.findDue(
+                    now.minusNanos(quietPeriodMillis * 1_000_000),
+                    now.minusNanos(maxDelayMillis * 1_000_000),
+                    PageRequest.of(0, batchSize));
+            for (PendingDiaryChange change : dueChanges) {
+                process(change);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 처리가 끝난 이벤트를 보관 기간이 지나면 삭제합니다.
+     */
+    @Scheduled(cron = "${report.refresh.cleanup-cron:0 45 4 * * *}")
+    public void cleanup() {
+        int deleted = diaryChangeEventRepository.deleteProcessedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("처리된 일기 변경 이벤트 삭제: {}건", deleted);
+        }
+    }
+
+    private void process(PendingDiaryChange change) {
+        LocalDateTime claimedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        // 조회 이후 들어온 이벤트는 다음 주기에 다시 모아서 처리
+        if (diaryChangeEventRepository.claim(change.userId(), change.year(), change.month(),
+                change.lastChangedAt(), claimedAt) == 0) {
+            return;
+        }
+
+        // 아직 리포트가 없는 월은 처음 조회할 때 생성되므로 재생성하지 않음
+        if (!monthlyReportRepository.existsByUserUserIdAndYearAndMonth(change.userId(), change.year(), change.month())) {
+            count("skipped");
+            return;
+        }
+
+        try {
+            if (reportJobService.submitIfIdle(change.userId(), change.year(), change.month()).isEmpty()) {
+                // 진행 중인 작업은 이번 변경 전의 일기로 생성 중일 수 있으므로 끝난 뒤 다시 등록
+                diaryChangeEventRepository.release(change.userId(), change.year(), change.month(), claimedAt);
+                count("deferred");
+                log.debug("진행 중인 리포트 작업이 있어 재생성 등록을 미룹니다: 사용자 ID={}, 연도={}, 월={}",
+                        change.userId(), change.year(), change.month());
+                return;
+            }
+            count("submitted");
+            log.info("일기 변경으로 월간 리포트 재생성 작업 등록: 사용자 ID={}, 연도={}, 월={}, 변경 수={}",
+                    change.userId(), change.year(), change.month(), change.changes());
+        } catch (ResourceNotFoundException e) {
+            // 해당 월의 일기가 모두 삭제된 경우: 저장된 리포트는 그대로 둠
+            count("skipped");
+            log.debug("월간 리포트 재생성 대상 아님: 사용자 ID={}, 연도={}, 월={}, 사유={}",
+                    change.userId(), change.year(), change.month(), e.getMessage());
+        } catch (Exception e) {
+            // 다음 주기에 다시 처리
+            diaryChangeEventRepository.release(change.userId(), change.year(), change.month(), claimedAt);
+            count("failed");
+            log.warn("월간 리포트 재생성 작업 등록 실패: 사용자 ID={}, 연도={}, 월={}, 오류={}",
+                    change.userId(), change.year(), change.month(), e.getMessage());
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("report.refresh.changes", "result", result).increment();
+    }
+}
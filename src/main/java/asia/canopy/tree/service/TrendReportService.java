@@ -0,0 +1,176 @@
+package asia.canopy.tree.service;
+
+import asia.canopy.tree.dto.MonthlyReportSummary;
+import asia.canopy.tree.dto.ReportJobResponse;
+import asia.canopy.tree.dto.TrendReportDto;
+import asia.canopy.tree.exception.BadRequestException;
+import asia.canopy.tree.exception.ResourceNotFoundException;
+import asia.canopy.tree.repository.MonthlyReportRepository;
+import asia.canopy.tree.service.report.GeminiTextGenerator;
+import asia.canopy.tree.service.report.OverviewSummary;
+import asia.canopy.tree.service.report.ReportResponseParser;
+import asia.canopy.tree.service.report.ReportStage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * 저장된 월간 리포트를 모아 여러 달(최대 1년 이상)의 추세 리포트를 만듭니다.
+ * 일기 원문은 다시 읽지 않고, 월별 요약(한 줄 요약, 개요, 감정 키워드, 위험 여부)만으로
+ * 짧은 메타 요약 프롬프트를 한 번 호출합니다.
+ * 리포트가 없는 달은 생성 작업을 등록하고, 이번 응답에서는 제외합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrendReportService {
+
+    // 프롬프트 문구를 수정하면 버전을 올려 이전 응답 캐시를 무효화합니다.
+    private static final String PROMPT_VERSION = "trend-v1";
+
+    private final MonthlyReportRepository monthlyReportRepository;
+    private final ReportJobService reportJobService;
+    private final GeminiTextGenerator geminiTextGenerator;
+
+    @Value("${report.trend.max-months:24}")
+    private int maxMonths;
+
+    @Value("${report.trend.top-keywords:5}")
+    private int topKeywords;
+
+    /**
+     * 기간 추세 리포트를 반환합니다.
+     *
+     * @param userId 사용자 ID
+     * @param from   시작 월
+     * @param to     종료 월 (포함)
+     * @return 추세 리포트
+     */
+    public TrendReportDto getTrendReport(Long userId, YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("시작 월은 종료 월보다 늦을 수 없습니다.");
+        }
+        if (from.plusMonths(maxMonths - 1L).isBefore(to)) {
+            throw new BadRequestException("조회 기간은 최대 " + maxMonths + "개월입니다.");
+        }
+
+        List<MonthlyReportSummary> summaries = monthlyReportRepository.findSummaries(userId,
+                from.getYear() * 100 + from.getMonthValue(), to.getYear() * 100 + to.getMonthValue());
+        List<ReportJobResponse> queuedJobs = queueMissingMonths(userId, from, to, summaries);
+
+        TrendReportDto.TrendReportDtoBuilder builder = TrendReportDto.builder()
+                .from(from.toString())
+                .to(to.toString())
+                .topEmotionKeywords(countKeywords(summaries))
+                .riskMonths(summaries.stream()
+                        .filter(MonthlyReportSummary::hasMentalHealthRisk)
+                        .map(summary -> YearMonth.of(summary.year(), summary.month()).toString())
+                        .toList())
+                .months(summaries.stream()
+                        .map(summary -> new TrendReportDto.MonthSummaryDto(
+                                YearMonth.of(summary.year(), summary.month()).toString(),
+                                summary.oneLineSummary(),
+                                keywords(summary),
+                                summary.hasMentalHealthRisk()))
+                        .toList())
+                .queuedJobs(queuedJobs);
+
+        if (summaries.isEmpty()) {
+            return builder.build();
+        }
+
+        // 월별 요약이 같으면 프롬프트도 같으므로 응답 캐시를 그대로 사용
+        OverviewSummary trend = ReportResponseParser.parseOverview(geminiTextGenerator.generate(ReportStage.TREND,
+                PROMPT_VERSION, createPromptForTrend(from, to, summaries), false));
+        return builder
+                .oneLineSummary(trend.oneLineSummary())
+                .overview(trend.overview())
+                .build();
+    }
+
+    /**
+     * 리포트가 없는 달의 생성 작업을 등록합니다. 일기가 없는 달과 아직 끝나지 않은 달(이번 달 포함)은 건너뜁니다.
+     */
+    private List<ReportJobResponse> queueMissingMonths(Long userId, YearMonth from, YearMonth to,
+                                                       List<MonthlyReportSummary> summaries) {
+        Set<YearMonth> stored = new HashSet<>();
+        summaries.forEach(summary -> stored.add(YearMonth.of(summary.year(), summary.month())));
+
+        // 진행 중인 달의 리포트는 일기가 더 쌓이기 전의 내용으로 저장되므로 지난달까지만 등록
+        YearMonth lastCompleted = YearMonth.now().minusMonths(1);
+        YearMonth last = to.isAfter(lastCompleted) ? lastCompleted : to;
+        List<ReportJobResponse> queuedJobs = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(last); month = month.plusMonths(1)) {
+            if (stored.contains(month)) {
+                continue;
+            }
+            try {
+                queuedJobs.add(reportJobService.submit(userId, month.getYear(), month.getMonthValue()));
+            } catch (ResourceNotFoundException e) {
+                // 해당 월의 일기가 없음
+            }
+        }
+
+        if (!queuedJobs.isEmpty()) {
+            log.info("추세 리포트의 누락된 월 리포트 생성 작업 등록: 사용자 ID={}, 기간={}~{}, 작업 수={}",
+                    userId, from, to, queuedJobs.size());
+        }
+        return queuedJobs;
+    }
+
+    private List<TrendReportDto.KeywordCountDto> countKeywords(List<MonthlyReportSummary> summaries) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (MonthlyReportSummary summary : summaries) {
+            // 같은 달에 같은 키워드가 여러 번 있어도 한 번만 셈
+            new LinkedHashSet<>(keywords(summary)).forEach(keyword -> counts.merge(keyword, 1, Integer::sum));
+        }
+
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(topKeywords)
+                .map(entry -> new TrendReportDto.KeywordCountDto(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private List<String> keywords(MonthlyReportSummary summary) {
+        if (summary.emotionKeywords() == null) {
+            return List.of();
+        }
+        return summary.emotionKeywords().stream()
+                .map(keyword -> keyword.trim().toLowerCase(Locale.ROOT))
+                .filter(keyword -> !keyword.isEmpty())
+                .toList();
+    }
+
+    /**
+     * 기간 추세 요약을 위한 프롬프트를 생성합니다.
+     */
+    private String createPromptForTrend(YearMonth from, YearMonth to, List<MonthlyReportSummary> summaries) {
+        StringBuilder months = new StringBuilder();
+        for (MonthlyReportSummary summary : summaries) {
+            months.append(YearMonth.of(summary.year(), summary.month()))
+                    .append(" | risk: ").append(summary.hasMentalHealthRisk() ? "yes" : "no")
+                    .append(" | emotions: ").append(String.join(", ", keywords(summary)))
+                    .append("\nTitle: ").append(Objects.toString(summary.oneLineSummary(), ""))
+                    .append("\nSummary: ").append(Objects.toString(summary.overview(), ""))
+                    .append("\n\n");
+        }
+
+        return "You are an AI assistant writing a multi-month review for a mental health diary app in English.\n\n" +
+                "Below are the monthly report summaries of a single user from " + from + " to " + to + ". " +
+                "Some months may be missing.\n\n" +
+                "Your task:\n" +
+                "- Describe how the user's emotions changed over the period, noting recurring emotions and turning points.\n" +
+                "- Mention months with mental health risk and whether the risk persisted or eased, in a gentle tone.\n" +
+                "- Write a ONE_LINE_SUMMARY (like a title or quote).\n" +
+                "- Write a PARAGRAPH_SUMMARY (4-6 sentences, <150 words).\n\n" +
+                "Respond in this format:\n" +
+                "ONE_LINE_SUMMARY: <summary>\n" +
+                "PARAGRAPH_SUMMARY: <paragraph>\n\n" +
+                "Monthly summaries:\n" + months;
+    }
+}
@@ -0,0 +1,80 @@
+package asia.canopy.tree.service.emotion;
+
+import asia.canopy.tree.service.report.AhoCorasickMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 감정 단어 사전으로 일기 한 편의 감정 점수를 계산합니다. (네트워크 호출 없음)
+ * 점수는 (긍정 가중치 합 - 부정 가중치 합) / (두 합 + 1)로 -1.0 ~ 1.0 사이이며, 감정 단어가 없으면 0입니다.
+ */
+@Component
+public class DiarySentimentScorer {
+
+    // 사전이나 점수 규칙을 바꾸면 버전을 올려 저장된 점수를 다시 계산합니다.
+    public static final short VERSION = 2;
+
+    /**
+     * 감정 단어 사전 (단어 -> 가중치, 양수는 긍정, 음수는 부정)
+     * 한국어는 활용형을 모두 잡도록 어간까지만 등록합니다.
+     * 영어 단어는 단어 경계가 맞을 때만 잡히므로 자주 쓰는 활용형을 따로 등록합니다.
+     * "안 좋"처럼 부정어가 붙은 표현은 긍정 단어와 함께 잡히므로 그만큼 더 낮은 가중치를 줍니다.
+     */
+    static final Map<String, Integer> LEXICON = Map.ofEntries(
+            Map.entry("행복", 2), Map.entry("기쁘", 2), Map.entry("기뻤", 2), Map.entry("즐거", 2),
+            Map.entry("신나", 2), Map.entry("설레", 2), Map.entry("뿌듯", 2), Map.entry("사랑", 2),
+            Map.entry("좋았", 1), Map.entry("좋아", 1), Map.entry("감사", 1), Map.entry("고마", 1),
+            Map.entry("편안", 1), Map.entry("웃었", 1), Map.entry("만족", 1), Map.entry("상쾌", 1),
+            Map.entry("희망", 1), Map.entry("여유", 1),
+            Map.entry("happy", 2), Map.entry("excited", 2), Map.entry("joy", 2), Map.entry("proud", 2),
+            Map.entry("love", 2), Map.entry("loved", 2), Map.entry("happiness", 2), Map.entry("enjoyed", 1),
+            Map.entry("glad", 1), Map.entry("grateful", 1), Map.entry("calm", 1),
+            Map.entry("relaxed", 1), Map.entry("great", 1), Map.entry("good", 1),
+            Map.entry("슬프", -2), Map.entry("슬펐", -2), Map.entry("우울", -2), Map.entry("불안", -2),
+            Map.entry("화나", -2), Map.entry("화가 났", -2), Map.entry("무기력", -2), Map.entry("외로", -2),
+            Map.entry("힘들", -1), Map.entry("지쳤", -1), Map.entry("피곤", -1), Map.entry("걱정", -1),
+            Map.entry("스트레스", -1), Map.entry("짜증", -1), Map.entry("속상", -1), Map.entry("눈물", -1),
+            Map.entry("후회", -1), Map.entry("두려", -1), Map.entry("싫", -1),
+            Map.entry("안 좋", -2), Map.entry("안 행복", -3), Map.entry("not good", -2), Map.entry("not happy", -4),
+            Map.entry("sad", -2), Map.entry("sadness", -2), Map.entry("depressed", -2), Map.entry("anxious", -2), Map.entry("angry", -2),
+            Map.entry("lonely", -2), Map.entry("tired", -1), Map.entry("stressed", -1), Map.entry("worried", -1),
+            Map.entry("upset", -1), Map.entry("afraid", -1), Map.entry("scared", -1), Map.entry("bad", -1));
+
+    private final AhoCorasickMatcher matcher;
+    private final int[] weights;
+
+    public DiarySentimentScorer() {
+        List<String> terms = new ArrayList<>(LEXICON.keySet());
+        this.matcher = new AhoCorasickMatcher(terms);
+        this.weights = new int[terms.size()];
+        for (int i = 0; i < terms.size(); i++) {
+            weights[i] = LEXICON.get(terms.get(i));
+        }
+    }
+
+    /**
+     * 일기 한 편의 감정 점수를 계산합니다.
+     *
+     * @return -1.0 (부정) ~ 1.0 (긍정)
+     */
+    public float score(String diary) {
+        if (diary == null || diary.isEmpty()) {
+            return 0f;
+        }
+
+        int[] counts = matcher.countMatches(diary);
+        int positive = 0;
+        int negative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (weights[i] > 0) {
+                positive += weights[i] * counts[i];
+            } else {
+                negative -= weights[i] * counts[i];
+            }
+        }
+        return (float) (positive - negative) / (positive + negative + 1);
+    }
+}
@@ -0,0 +1,222 @@
+package asia.canopy.tree.service.report;
+
+import java.util.*;
+
+/**
+ * 여러 단어를 한 번의 순회로 찾는 Aho-Corasick 자동자
+ * 텍스트 길이와 일치 횟수에 비례하는 시간으로 동작하며, 단어 수가 늘어도 순회 비용은 같습니다.
+ *
+ * 대소문자를 구분하지 않고, 연속된 공백은 하나로 봅니다.
+ * 한글 사이의 공백은 건너뛰고 비교합니다. ("죽고 싶"과 "죽고싶"을 같은 단어로 봄)
+ * 그 밖의 공백은 단어를 끊으며, 라틴 문자로 시작하거나 끝나는 단어는 앞뒤가 단어 경계일 때만 셉니다.
+ * ("was a day"에서 "sad", "all over"에서 "love"를 찾지 않음)
+ * 줄바꿈은 단어를 끊으므로 서로 다른 일기는 줄바꿈으로 구분해서 넘깁니다.
+ * 생성 후에는 변경되지 않으므로 여러 스레드에서 동시에 사용할 수 있습니다.
+ */
+public final class AhoCorasickMatcher {
+
+    private static final int ROOT = 0;
+
+    private final List<String> patterns;
+    // 문자 -> 문자 분류 번호 (단어에 없는 문자는 0)
+    private final char[] charClasses;
+    // 상태 x 문자 분류 -> 다음 상태 (실패 링크를 미리 반영한 전이표)
+    private final int[][] transitions;
+    // 상태에 도달했을 때 끝나는 단어 번호 (실패 링크로 이어지는 단어 포함)
+    private final int[][] outputs;
+    // 단어별 정규화 길이와 라틴 문자 경계 검사 여부
+    private final int[] lengths;
+    private final boolean[] boundedStart;
+    private final boolean[] boundedEnd;
+    private final int maxLength;
+
+    public AhoCorasickMatcher(Collection<String> patterns) {
+        this.patterns = List.copyOf(patterns);
+        this.charClasses = new char[Character.MAX_VALUE + 1];
+
+        // 1. 문자 분류: 단어에 나오는 문자만 번호를 부여해 전이표 열 수를 줄임
+        int classCount = 1;
+        List<String> normalized = new ArrayList<>(this.patterns.size());
+        for (String pattern : this.patterns) {
+            String key = normalize(pattern);
+            if (key.isEmpty()) {
+                throw new IllegalArgumentException("빈 단어는 등록할 수 없습니다.");
+            }
+            normalized.add(key);
+            for (int i = 0; i < key.length(); i++) {
+                char c = key.charAt(i);
+                if (charClasses[c] == 0) {
+                    charClasses[c] = (char) classCount++;
+                }
+            }
+        }
+
+        this.lengths = new int[normalized.size()];
+        this.boundedStart = new boolean[normalized.size()];
+        this.boundedEnd = new boolean[normalized.size()];
+        int longest = 1;
+        for (int p = 0; p < normalized.size(); p++) {
+            String key = normalized.get(p);
+            lengths[p] = key.length();
+            boundedStart[p] = isLatinWordChar(key.charAt(0));
+            boundedEnd[p] = isLatinWordChar(key.charAt(key.length() - 1));
+            longest = Math.max(longest, key.length());
+        }
+        this.maxLength = longest;
+
+        // 2. 트라이
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> terminal = new ArrayList<>();
+        trie.add(new int[classCount]);
+        terminal.add(new ArrayList<>());
+        for (int p = 0; p < normalized.size(); p++) {
+            String key = normalized.get(p);
+            int state = ROOT;
+            for (int i = 0; i < key.length(); i++) {
+                int cls = charClasses[key.charAt(i)];
+                if (trie.get(state)[cls] == 0) {
+                    trie.get(state)[cls] = trie.size();
+                    trie.add(new int[classCount]);
+                    terminal.add(new ArrayList<>());
+                }
+                state = trie.get(state)[cls];
+            }
+            terminal.get(state).add(p);
+        }
+
+        // 3. 너비 우선으로 실패 링크를 계산하면서 없는 전이를 실패 상태의 전이로 채움
+        int stateCount = trie.size();
+        int[] failure = new int[stateCount];
+        this.transitions = trie.toArray(new int[0][]);
+        this.outputs = new int[stateCount][];
+        outputs[ROOT] = new int[0];
+
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int cls = 1; cls < classCount; cls++) {
+            int next = transitions[ROOT][cls];
+            if (next != 0) {
+                failure[next] = ROOT;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> out = terminal.get(state);
+            int[] inherited = outputs[failure[state]];
+            int[] merged = new int[out.size() + inherited.length];
+            for (int i = 0; i < out.size(); i++) {
+                merged[i] = out.get(i);
+            }
+            System.arraycopy(inherited, 0, merged, out.size(), inherited.length);
+            outputs[state] = merged;
+
+            for (int cls = 1; cls < classCount; cls++) {
+                int next = transitions[state][cls];
+                if (next != 0) {
+                    failure[next] = transitions[failure[state]][cls];
+                    queue.add(next);
+                } else {
+                    transitions[state][cls] = transitions[failure[state]][cls];
+                }
+            }
+        }
+    }
+
+    /**
+     * 등록된 단어 목록 (번호 순서)
+     */
+    public List<String> patterns() {
+        return patterns;
+    }
+
+    /**
+     * 텍스트에서 단어별 등장 횟수를 셉니다. (겹치는 등장도 모두 셈)
+     *
+     * @return 단어 번호별 등장 횟수
+     */
+    public int[] countMatches(CharSequence text) {
+        int[] counts = new int[patterns.size()];
+        // 최근 입력한 문자의 원문 위치 (단어 시작 위치의 경계 검사용)
+        int[] positions = new int[maxLength];
+        long fed = 0;
+        int state = ROOT;
+        char previous = 0;
+        boolean pendingSpace = false;
+
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r') {
+                state = ROOT;
+                previous = 0;
+                pendingSpace = false;
+                continue;
+            }
+            if (isSpace(c)) {
+                pendingSpace = previous != 0;
+                continue;
+            }
+            if (pendingSpace) {
+                pendingSpace = false;
+                if (!(isHangul(previous) && isHangul(c))) {
+                    state = transitions[state][charClasses[' ']];
+                    positions[(int) (fed++ % maxLength)] = i;
+                }
+            }
+            previous = c;
+
+            state = transitions[state][charClasses[Character.toLowerCase(c)]];
+            positions[(int) (fed++ % maxLength)] = i;
+            for (int pattern : outputs[state]) {
+                if (boundedEnd[pattern] && i + 1 < length && isLatinWordChar(text.charAt(i + 1))) {
+                    continue;
+                }
+                if (boundedStart[pattern]) {
+                    int start = positions[(int) ((fed - lengths[pattern]) % maxLength)];
+                    if (start > 0 && isLatinWordChar(text.charAt(start - 1))) {
+                        continue;
+                    }
+                }
+                counts[pattern]++;
+            }
+        }
+        return counts;
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\u00A0' || c == '\u3000';
+    }
+
+    private static boolean isHangul(char c) {
+        return Character.UnicodeScript.of(c) == Character.UnicodeScript.HANGUL;
+    }
+
+    private static boolean isLatinWordChar(char c) {
+        if (c < 128) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+        }
+        return Character.isLetter(c) && Character.UnicodeScript.of(c) == Character.UnicodeScript.LATIN;
+    }
+
+    /**
+     * 텍스트와 같은 규칙으로 단어를 정규화합니다. (소문자, 한글 사이 공백 제거, 그 밖의 공백은 하나로)
+     */
+    private static String normalize(String pattern) {
+        StringBuilder key = new StringBuilder(pattern.length());
+        char previous = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (isSpace(c)) {
+                pendingSpace = previous != 0;
+                continue;
+            }
+            if (pendingSpace && !(isHangul(previous) && isHangul(c))) {
+                key.append(' ');
+            }
+            pendingSpace = false;
+            previous = c;
+            key.append(Character.toLowerCase(c));
+        }
+        return key.toString();
+    }
+}
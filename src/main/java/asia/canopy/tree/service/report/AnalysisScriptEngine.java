@@ -0,0 +1,397 @@
+package asia.canopy.tree.service.report;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.python.core.*;
+import org.python.util.PythonInterpreter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 분석가가 배포 없이 추가하는 Jython 분석 스크립트를 월간 리포트 생성 중에 실행합니다.
+ *
+ * - report.scripts.dir의 *.py 파일을 한 번만 PyCode로 컴파일하고, 파일이 바뀌면 주기적으로 다시 컴파일합니다.
+ * - 미리 만들어 둔 인터프리터 풀(report.scripts.pool-size)에서 실행하므로 요청마다 인터프리터를 만들지 않습니다.
+ * - 스크립트에는 diary_text(문자열)와 entries(일자별 {day, morning, afternoon, evening} 목록)가 주어지며,
+ *   result 변수에 dict를 저장하면 리포트의 scriptInsights에 스크립트 이름으로 들어갑니다.
+ * - 스크립트별 실행 시간은 report.script.duration 타이머에 기록하고, report.scripts.timeout-ms를 넘기면 결과에서 제외합니다.
+ *   Jython 코드는 중간에 멈출 수 없으므로 시간을 넘긴 실행의 인터프리터는 버리고 새 인터프리터로 풀을 채우며,
+ *   해당 스크립트는 파일이 바뀔 때까지 실행하지 않습니다.
+ * - 시간을 넘겨 계속 실행 중인 스레드(누수된 실행) 수는 report.scripts.leaked 게이지로 기록하며,
+ *   report.scripts.max-leaked에 도달하면 누수된 실행이 끝날 때까지 엔진 전체를 중지합니다.
+ *   (실행 스레드는 인터프리터 수 + max-leaked개로 제한)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalysisScriptEngine {
+
+    private static final String RESULT_VARIABLE = "result";
+
+    // 첫 실행이 느리지 않도록 스크립트에서 자주 쓰는 문자열/컬렉션 연산을 미리 실행
+    private static final String WARM_UP_SCRIPT = String.join("\n",
+            "words = diary_text.lower().split()",
+            "counts = {}",
+            "for w in words:",
+            "    counts[w] = counts.get(w, 0) + 1",
+            "days = [e.get('day') for e in entries if 'morning' in e]",
+            "result = {'distinct': len(counts), 'top': sorted(counts.keys())[:2], 'ratio': 0.5, 'ok': True, 'days': days}");
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${report.scripts.enabled:false}")
+    private boolean enabled;
+
+    @Value("${report.scripts.dir:scripts/analysis}")
+    private String scriptDir;
+
+    @Value("${report.scripts.pool-size:2}")
+    private int poolSize;
+
+    @Value("${report.scripts.timeout-ms:2000}")
+    private long timeoutMillis;
+
+    @Value("${report.scripts.max-leaked:4}")
+    private int maxLeaked;
+
+    private final BlockingQueue<PythonInterpreter> interpreters = new LinkedBlockingQueue<>();
+    private volatile Map<String, CompiledScript> scripts = Map.of();
+    // 시간을 넘긴 스크립트 (이름@수정 시각)
+    private final Set<String> quarantined = ConcurrentHashMap.newKeySet();
+    // 시간을 넘긴 뒤에도 아직 실행 중인 스크립트 수
+    private final AtomicInteger leakedExecutions = new AtomicInteger();
+    private PyCode warmUp;
+    private ExecutorService executor;
+    private ExecutorService interpreterFactory;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+
+        Properties properties = new Properties();
+        // site 모듈 로딩을 생략해 인터프리터 생성 시간을 줄임
+        properties.setProperty("python.import.site", "false");
+        properties.setProperty("python.console.encoding", "UTF-8");
+        PythonInterpreter.initialize(System.getProperties(), properties, new String[0]);
+
+        // 동시 실행 수는 인터프리터 풀 크기로 제한 (시간을 넘긴 실행이 스레드를 점유해도 max-leaked개까지는 다른 실행이 진행)
+        ThreadPoolExecutor scriptExecutor = new ThreadPoolExecutor(poolSize + maxLeaked, poolSize + maxLeaked,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                Thread.ofPlatform().daemon().name("analysis-script-", 0).factory());
+        scriptExecutor.allowCoreThreadTimeOut(true);
+        executor = scriptExecutor;
+        // 인터프리터 생성은 수백 ms가 걸리므로 스크립트 실행과 분리
+        interpreterFactory = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().daemon().name("analysis-script-init").factory());
+        meterRegistry.gauge("report.scripts.leaked", leakedExecutions);
+        warmUp = Py.compile_flags(WARM_UP_SCRIPT, "<warm-up>", CompileMode.exec, new CompilerFlags());
+        for (int i = 0; i < poolSize; i++) {
+            interpreters.add(newInterpreter());
+        }
+
+        reload();
+        log.info("분석 스크립트 엔진 시작: 디렉터리={}, 인터프리터 수={}, 스크립트 수={}", scriptDir, poolSize, scripts.size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            interpreterFactory.shutdownNow();
+        }
+        interpreters.forEach(PythonInterpreter::close);
+    }
+
+    public boolean isEnabled() {
+        return enabled && leakedExecutions.get() < maxLeaked && !scripts.isEmpty();
+    }
+
+    /**
+     * 시간을 넘긴 뒤에도 아직 실행 중인 스크립트 수
+     */
+    public int getLeakedExecutions() {
+        return leakedExecutions.get();
+    }
+
+    /**
+     * 시간을 넘겨 실행하지 않는 스크립트 이름
+     */
+    public Set<String> getQuarantinedScripts() {
+        Set<String> names = new TreeSet<>();
+        scripts.values().stream().filter(this::isQuarantined).forEach(script -> names.add(script.name()));
+        return names;
+    }
+
+    /**
+     * 스크립트 디렉터리를 다시 읽어 바뀐 파일만 컴파일합니다.
+     * 컴파일에 실패한 파일은 이전에 컴파일된 버전을 계속 사용합니다.
+     */
+    @Scheduled(fixedDelayString = "${report.scripts.rescan-interval-ms:60000}",
+            initialDelayString = "${report.scripts.rescan-interval-ms:60000}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+
+        Path dir = Paths.get(scriptDir);
+        if (!Files.isDirectory(dir)) {
+            if (!scripts.isEmpty()) {
+                scripts = Map.of();
+            }
+            return;
+        }
+
+        Map<String, CompiledScript> current = scripts;
+        Map<String, CompiledScript> reloaded = new TreeMap<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".py")).sorted().toList()) {
+                String name = file.getFileName().toString().replaceFirst("\\.py$", "");
+                long lastModified = Files.getLastModifiedTime(file).toMillis();
+                CompiledScript previous = current.get(name);
+                if (previous != null && previous.lastModified() == lastModified) {
+                    reloaded.put(name, previous);
+                    continue;
+                }
+                try {
+                    String source = Files.readString(file, StandardCharsets.UTF_8);
+                    PyCode code = Py.compile_flags(source, file.toString(), CompileMode.exec, new CompilerFlags());
+                    reloaded.put(name, new CompiledScript(name, code, lastModified));
+                    log.info("분석 스크립트 컴파일: {}", name);
+                } catch (PyException | IOException e) {
+                    log.warn("분석 스크립트 컴파일 실패: {}, 오류={}", name, e.toString());
+                    if (previous != null) {
+                        reloaded.put(name, previous);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("분석 스크립트 디렉터리를 읽을 수 없습니다: {}, 오류={}", scriptDir, e.getMessage());
+            return;
+        }
+        scripts = Collections.unmodifiableMap(reloaded);
+    }
+
+    /**
+     * 모든 스크립트를 실행합니다. 실패하거나 시간을 넘긴 스크립트는 결과에서 제외합니다.
+     *
+     * @param diaryText 프롬프트에 사용하는 일기 본문
+     * @param entries   일자별 일기 항목
+     * @return 스크립트 이름 -> result 값
+     */
+    public Map<String, Object> runAll(String diaryText, List<Map<String, String>> entries) {
+        if (!isEnabled()) {
+            return Map.of();
+        }
+
+        // 모두 제출한 뒤 같은 마감 시각까지 기다림
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Map<CompiledScript, Invocation> invocations = new LinkedHashMap<>();
+        for (CompiledScript script : scripts.values()) {
+            if (isQuarantined(script)) {
+                continue;
+            }
+            Invocation invocation = new Invocation();
+            invocation.future = executor.submit(() -> execute(script, invocation, diaryText, entries));
+            invocations.put(script, invocation);
+        }
+
+        Map<String, Object> insights = new LinkedHashMap<>();
+        for (Map.Entry<CompiledScript, Invocation> entry : invocations.entrySet()) {
+            CompiledScript script = entry.getKey();
+            Invocation invocation = entry.getValue();
+            try {
+                Object value = invocation.future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (value != null) {
+                    insights.put(script.name(), value);
+                }
+            } catch (TimeoutException e) {
+                abandon(script, invocation);
+            } catch (ExecutionException e) {
+                count(script.name(), "error");
+                log.warn("분석 스크립트 실행 실패: {}, 오류={}", script.name(), e.getCause().toString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return insights;
+    }
+
+    /**
+     * 시간을 넘긴 실행을 포기합니다. 이미 실행 중이면 해당 인터프리터 대신 새 인터프리터를 풀에 넣고,
+     * 실행 중인 인터프리터는 스크립트가 끝나면 닫습니다.
+     */
+    private void abandon(CompiledScript script, Invocation invocation) {
+        invocation.future.cancel(true);
+        boolean running;
+        int leaked = 0;
+        synchronized (invocation) {
+            running = invocation.started && !invocation.finished;
+            invocation.abandoned = true;
+            if (running) {
+                // 실행 스레드가 끝날 때 줄이므로 같은 잠금 안에서 늘림
+                leaked = leakedExecutions.incrementAndGet();
+            }
+        }
+        count(script.name(), "timeout");
+
+        if (running) {
+            // 대기 중에 시간을 넘긴 경우는 스크립트 문제가 아니므로 격리하지 않음
+            quarantined.add(quarantineKey(script));
+            interpreterFactory.execute(() -> interpreters.add(newInterpreter()));
+            log.warn("분석 스크립트 시간 초과로 격리: {} ({}ms, 파일이 바뀌면 다시 실행)", script.name(), timeoutMillis);
+
+            if (leaked == maxLeaked) {
+                log.error("시간을 넘겨 실행 중인 분석 스크립트가 {}개에 도달해 분석 스크립트 엔진을 중지합니다.", leaked);
+            }
+        } else {
+            log.warn("분석 스크립트 시간 초과 (인터프리터 대기): {} ({}ms)", script.name(), timeoutMillis);
+        }
+    }
+
+    private boolean isQuarantined(CompiledScript script) {
+        return quarantined.contains(quarantineKey(script));
+    }
+
+    private String quarantineKey(CompiledScript script) {
+        return script.name() + "@" + script.lastModified();
+    }
+
+    private Object execute(CompiledScript script, Invocation invocation,
+                           String diaryText, List<Map<String, String>> entries) throws Exception {
+        PythonInterpreter interpreter = interpreters.take();
+        synchronized (invocation) {
+            if (invocation.abandoned) {
+                interpreters.add(interpreter);
+                return null;
+            }
+            invocation.started = true;
+        }
+
+        long start = System.nanoTime();
+        try {
+            // 실행마다 새 이름 공간을 사용해 이전 실행의 변수가 남지 않도록 함
+            interpreter.setLocals(new PyStringMap());
+            interpreter.set("diary_text", new PyUnicode(diaryText));
+            interpreter.set("entries", toPython(entries));
+            interpreter.exec(script.code());
+
+            Object value = toJava(interpreter.get(RESULT_VARIABLE));
+            timer(script.name(), "success").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return value;
+        } catch (PyException e) {
+            timer(script.name(), "error").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw new IllegalStateException(e.toString(), e);
+        } finally {
+            boolean abandoned;
+            synchronized (invocation) {
+                invocation.finished = true;
+                abandoned = invocation.abandoned;
+            }
+            if (abandoned) {
+                // 풀에는 이미 새 인터프리터를 넣었으므로 닫음
+                interpreter.close();
+                if (leakedExecutions.decrementAndGet() == maxLeaked - 1) {
+                    log.info("시간을 넘긴 분석 스크립트 실행이 끝나 분석 스크립트 엔진을 다시 시작합니다.");
+                }
+            } else {
+                interpreter.setLocals(new PyStringMap());
+                interpreters.add(interpreter);
+            }
+        }
+    }
+
+    private PythonInterpreter newInterpreter() {
+        PythonInterpreter interpreter = new PythonInterpreter(null, new PySystemState());
+        interpreter.set("diary_text", new PyUnicode("warm up diary text"));
+        interpreter.set("entries", toPython(List.of(Map.of("day", "1", "morning", "warm up"))));
+        interpreter.exec(warmUp);
+        toJava(interpreter.get(RESULT_VARIABLE));
+        interpreter.setLocals(new PyStringMap());
+        return interpreter;
+    }
+
+    private PyList toPython(List<Map<String, String>> entries) {
+        PyList list = new PyList();
+        for (Map<String, String> entry : entries) {
+            PyDictionary dict = new PyDictionary();
+            entry.forEach((key, value) -> dict.__setitem__(new PyUnicode(key), new PyUnicode(value)));
+            list.append(dict);
+        }
+        return list;
+    }
+
+    /**
+     * result 값을 JSON으로 저장할 수 있는 Java 값으로 변환합니다.
+     */
+    private Object toJava(PyObject value) {
+        if (value == null || value == Py.None) {
+            return null;
+        }
+        if (value instanceof PyBoolean bool) {
+            return bool.getBooleanValue();
+        }
+        if (value instanceof PyInteger || value instanceof PyLong) {
+            return value.asLong();
+        }
+        if (value instanceof PyFloat) {
+            return value.asDouble();
+        }
+        if (value instanceof PyString) {
+            return value.toString();
+        }
+        if (value instanceof PyDictionary || value instanceof PyStringMap) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (PyObject key : value.asIterable()) {
+                map.put(key.toString(), toJava(value.__getitem__(key)));
+            }
+            return map;
+        }
+        if (value instanceof PySequenceList || value instanceof PySet) {
+            List<Object> list = new ArrayList<>();
+            for (PyObject item : value.asIterable()) {
+                list.add(toJava(item));
+            }
+            return list;
+        }
+        return value.toString();
+    }
+
+    private Timer timer(String script, String outcome) {
+        return meterRegistry.timer("report.script.duration", "script", script, "outcome", outcome);
+    }
+
+    private void count(String script, String outcome) {
+        meterRegistry.counter("report.script.failures", "script", script, "outcome", outcome).increment();
+    }
+
+    private record CompiledScript(String name, PyCode code, long lastModified) {
+    }
+
+    /**
+     * 스크립트 실행 한 번의 상태 (실행 스레드와 기다리는 스레드가 함께 사용하므로 객체 잠금으로 보호)
+     */
+    private static class Invocation {
+        private Future<Object> future;
+        private boolean started;
+        private boolean finished;
+        private boolean abandoned;
+    }
+}
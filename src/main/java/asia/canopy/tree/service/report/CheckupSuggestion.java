@@ -0,0 +1,9 @@
+package asia.canopy.tree.service.report;
+
+/**
+ * 체크업 추천 단계 결과
+ *
+ * @param searchQuery 추천 검색어
+ */
+public record CheckupSuggestion(String searchQuery) {
+}
@@ -0,0 +1,20 @@
+package asia.canopy.tree.service.report;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * 통합 모드에서 한 번의 Gemini 호출로 받는 구조화된 분석 결과
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CombinedAnalysis(
+        @JsonProperty("emotion_keywords") List<String> emotionKeywords,
+        @JsonProperty("emotion_summary") String emotionSummary,
+        @JsonProperty("risk_analysis") String riskAnalysis,
+        @JsonProperty("has_mental_health_risk") boolean hasMentalHealthRisk,
+        @JsonProperty("search_query") String searchQuery,
+        @JsonProperty("one_line_summary") String oneLineSummary,
+        @JsonProperty("overview") String overview) {
+}
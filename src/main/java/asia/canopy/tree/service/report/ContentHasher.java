@@ -0,0 +1,33 @@
+package asia.canopy.tree.service.report;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 캐시 키와 변경 감지에 사용하는 SHA-256 해시 유틸리티
+ */
+public final class ContentHasher {
+
+    private ContentHasher() {
+    }
+
+    /**
+     * 각 부분을 줄바꿈으로 구분하여 이어 붙인 값의 SHA-256 해시(16진수)를 반환합니다.
+     */
+    public static String sha256(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (int i = 0; i < parts.length; i++) {
+                if (i > 0) {
+                    digest.update((byte) '\n');
+                }
+                digest.update(parts[i].getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
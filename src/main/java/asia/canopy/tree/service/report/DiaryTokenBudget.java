@@ -0,0 +1,199 @@
+package asia.canopy.tree.service.report;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 프롬프트에 들어갈 일기 본문을 토큰 예산 안으로 줄입니다.
+ * 예산을 넘으면 다음 순서로 줄이고, 예산 안에 들어오면 멈춥니다.
+ * 1. 한 달 동안 반복된 문장 제거
+ * 2. 시간대별 일기를 최대 토큰 수로 자르기
+ * 3. 월 전체에 고르게 분포하도록 일자 샘플링
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DiaryTokenBudget {
+
+    public static final String DAY_KEY = "day";
+
+    private static final List<String> PART_KEYS = List.of("morning", "afternoon", "evening");
+
+    private final MeterRegistry meterRegistry;
+
+    // 리포트 하나의 일기 본문 토큰 예산 (0 이하이면 제한 없음)
+    @Value("${report.prompt.token-budget:8000}")
+    private int tokenBudget;
+
+    // 시간대별 일기 하나의 최대 토큰 수 (잘라내기 단계)
+    @Value("${report.prompt.max-entry-tokens:300}")
+    private int maxEntryTokens;
+
+    /**
+     * 예산을 적용합니다. 각 항목에는 원래 일자 순번(day)이 기록됩니다.
+     *
+     * @param diaryEntries 일자 순으로 정렬된 일기 항목 (morning, afternoon, evening)
+     * @return 예산을 적용한 항목과 사용량
+     */
+    public Result apply(List<Map<String, String>> diaryEntries) {
+        List<Map<String, String>> entries = new ArrayList<>();
+        for (int i = 0; i < diaryEntries.size(); i++) {
+            Map<String, String> entry = new LinkedHashMap<>(diaryEntries.get(i));
+            entry.put(DAY_KEY, String.valueOf(i + 1));
+            entries.add(entry);
+        }
+
+        int originalTokens = estimate(entries);
+        if (tokenBudget <= 0 || originalTokens <= tokenBudget) {
+            return record(new Result(entries, originalTokens, originalTokens, tokenBudget, entries.size(), List.of()));
+        }
+
+        List<String> steps = new ArrayList<>();
+
+        entries = deduplicate(entries);
+        steps.add("dedupe");
+        if (estimate(entries) > tokenBudget) {
+            entries = trim(entries);
+            steps.add("trim");
+        }
+        if (estimate(entries) > tokenBudget) {
+            entries = sample(entries);
+            steps.add("sample");
+        }
+
+        Result result = new Result(entries, originalTokens, estimate(entries), tokenBudget, diaryEntries.size(), steps);
+        log.info("일기 토큰 예산 적용: 원문={}, 사용={}, 예산={}, 일수={}/{}, 단계={}",
+                result.originalTokens(), result.usedTokens(), tokenBudget,
+                entries.size(), diaryEntries.size(), steps);
+        return record(result);
+    }
+
+    /**
+     * 공백/문장부호만 다른 문장을 같은 문장으로 보고, 처음 나온 문장만 남깁니다.
+     */
+    private List<Map<String, String>> deduplicate(List<Map<String, String>> entries) {
+        Set<String> seen = new HashSet<>();
+        List<Map<String, String>> result = new ArrayList<>();
+
+        for (Map<String, String> entry : entries) {
+            Map<String, String> compacted = new LinkedHashMap<>();
+            compacted.put(DAY_KEY, entry.get(DAY_KEY));
+            for (String key : PART_KEYS) {
+                String text = entry.get(key);
+                if (text == null) {
+                    continue;
+                }
+                StringBuilder kept = new StringBuilder();
+                for (String sentence : text.split("(?<=[.!?。])\\s+|\\n+")) {
+                    String normalized = sentence.replaceAll("[\\p{Punct}\\s]+", " ").trim().toLowerCase(Locale.ROOT);
+                    if (!normalized.isEmpty() && seen.add(normalized)) {
+                        if (!kept.isEmpty()) {
+                            kept.append(' ');
+                        }
+                        kept.append(sentence.trim());
+                    }
+                }
+                if (!kept.isEmpty()) {
+                    compacted.put(key, kept.toString());
+                }
+            }
+            result.add(compacted);
+        }
+        return result;
+    }
+
+    private List<Map<String, String>> trim(List<Map<String, String>> entries) {
+        List<Map<String, String>> result = new ArrayList<>();
+        for (Map<String, String> entry : entries) {
+            Map<String, String> trimmed = new LinkedHashMap<>(entry);
+            for (String key : PART_KEYS) {
+                String text = trimmed.get(key);
+                if (text != null && PromptTokenEstimator.estimate(text) > maxEntryTokens) {
+                    trimmed.put(key, truncate(text, maxEntryTokens));
+                }
+            }
+            result.add(trimmed);
+        }
+        return result;
+    }
+
+    /**
+     * 첫날과 마지막 날을 포함해 고르게 일자를 골라 예산 안에 들어올 때까지 일수를 줄입니다.
+     */
+    private List<Map<String, String>> sample(List<Map<String, String>> entries) {
+        int total = estimate(entries);
+        int count = Math.max(1, (int) ((long) entries.size() * tokenBudget / Math.max(total, 1)));
+
+        List<Map<String, String>> sampled = pickEvenly(entries, count);
+        while (count > 1 && estimate(sampled) > tokenBudget) {
+            count--;
+            sampled = pickEvenly(entries, count);
+        }
+        return sampled;
+    }
+
+    private List<Map<String, String>> pickEvenly(List<Map<String, String>> entries, int count) {
+        if (count >= entries.size()) {
+            return entries;
+        }
+        if (count == 1) {
+            return List.of(entries.get(entries.size() / 2));
+        }
+        List<Map<String, String>> picked = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            picked.add(entries.get((int) Math.round((double) i * (entries.size() - 1) / (count - 1))));
+        }
+        return picked;
+    }
+
+    private String truncate(String text, int maxTokens) {
+        int end = text.length();
+        while (end > 0 && PromptTokenEstimator.estimate(text.subSequence(0, end)) > maxTokens) {
+            // 한 번에 초과분만큼 줄여서 반복 횟수를 줄임
+            int over = PromptTokenEstimator.estimate(text.subSequence(0, end)) - maxTokens;
+            end = Math.max(0, end - Math.max(1, over));
+        }
+        return text.substring(0, end).trim() + "…";
+    }
+
+    private int estimate(List<Map<String, String>> entries) {
+        int tokens = 0;
+        for (Map<String, String> entry : entries) {
+            for (String key : PART_KEYS) {
+                tokens += PromptTokenEstimator.estimate(entry.get(key));
+            }
+        }
+        return tokens;
+    }
+
+    private Result record(Result result) {
+        if (result.budget() > 0) {
+            meterRegistry.summary("report.prompt.budget.usage").record((double) result.usedTokens() / result.budget());
+        }
+        result.steps().forEach(step -> meterRegistry.counter("report.prompt.compactions", "step", step).increment());
+        return result;
+    }
+
+    /**
+     * 예산 적용 결과
+     *
+     * @param entries        예산 안으로 줄인 일기 항목 (원래 일자 순번 포함)
+     * @param originalTokens 원문 추정 토큰 수
+     * @param usedTokens     적용 후 추정 토큰 수
+     * @param budget         적용한 예산 (0 이하이면 제한 없음)
+     * @param originalDays   원래 일수
+     * @param steps          적용한 축소 단계
+     */
+    public record Result(List<Map<String, String>> entries, int originalTokens, int usedTokens, int budget,
+                         int originalDays, List<String> steps) {
+
+        public boolean isCompacted() {
+            return !steps.isEmpty();
+        }
+    }
+}
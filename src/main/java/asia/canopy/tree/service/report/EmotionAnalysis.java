@@ -0,0 +1,12 @@
+package asia.canopy.tree.service.report;
+
+import java.util.List;
+
+/**
+ * 감정 분석 단계 결과
+ *
+ * @param keywords 감정 키워드 (3~5개)
+ * @param summary  한 달간의 감정 흐름 요약
+ */
+public record EmotionAnalysis(List<String> keywords, String summary) {
+}
@@ -0,0 +1,216 @@
+package asia.canopy.tree.service.report;
+
+import asia.canopy.tree.exception.ExternalServiceUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 외부 API 호출을 대상(endpoint)별 서킷 브레이커, 동시 호출 제한(bulkhead), 재시도로 보호합니다.
+ * 재시도는 429/503 응답에만 지터가 적용된 지수 백오프로 수행하며(Retry-After가 있으면 그 시간 이상 대기), 서킷이 열려 있거나
+ * 동시 호출 한도를 넘으면 {@link ExternalServiceUnavailableException}으로 즉시 실패합니다.
+ * 서킷 브레이커에는 5xx, 429, 타임아웃/연결 오류만 실패로 기록하고, 4xx나 응답 파싱 오류는 성공으로 기록합니다.
+ * 설정은 resilience.{endpoint}.* 속성으로 대상별로 지정합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExternalCallGuard {
+
+    public static final String GEMINI = "gemini";
+    public static final String CSE = "cse";
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * 보호된 호출을 실행합니다.
+     *
+     * @param endpointName 호출 대상 이름 (gemini, cse)
+     * @param call         외부 API 호출
+     * @return 호출 결과
+     */
+    public <T> T execute(String endpointName, Supplier<T> call) {
+        Endpoint endpoint = endpoints.computeIfAbsent(endpointName, this::createEndpoint);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return executeOnce(endpoint, call);
+            } catch (HttpStatusCodeException e) {
+                if (!isRetryable(e) || attempt >= endpoint.maxAttempts) {
+                    throw e;
+                }
+                // 서버가 요청한 대기 시간이 최대 백오프보다 길면 재시도하지 않음
+                long retryAfter = retryAfterMillis(e);
+                if (retryAfter > endpoint.backoffMaxMillis) {
+                    throw e;
+                }
+                long backoff = Math.max(backoffMillis(endpoint, attempt), retryAfter);
+                meterRegistry.counter("resilience.retries", "endpoint", endpoint.name).increment();
+                log.warn("외부 API 재시도: 대상={}, 상태 코드={}, 시도={}, 대기={}ms",
+                        endpoint.name, e.getStatusCode(), attempt, backoff);
+                sleep(backoff);
+            }
+        }
+    }
+
+    public CircuitBreaker.State getState(String endpointName) {
+        return endpoints.computeIfAbsent(endpointName, this::createEndpoint).circuitBreaker.getState();
+    }
+
+    private <T> T executeOnce(Endpoint endpoint, Supplier<T> call) {
+        if (!endpoint.bulkhead.tryAcquire()) {
+            reject(endpoint, "bulkhead_full");
+            throw new ExternalServiceUnavailableException("외부 API(" + endpoint.name + ") 동시 호출 한도를 초과했습니다.");
+        }
+
+        try {
+            if (!endpoint.circuitBreaker.tryAcquirePermission()) {
+                reject(endpoint, "circuit_open");
+                throw new ExternalServiceUnavailableException("외부 API(" + endpoint.name + ")를 일시적으로 사용할 수 없습니다.");
+            }
+
+            boolean recorded = false;
+            try {
+                T result = call.get();
+                endpoint.circuitBreaker.onSuccess();
+                recorded = true;
+                return result;
+            } catch (RuntimeException e) {
+                if (isServiceFailure(e)) {
+                    endpoint.circuitBreaker.onFailure();
+                } else {
+                    // 외부 서비스는 정상 응답했으므로 (요청 오류, 파싱 오류 등) 성공으로 기록
+                    endpoint.circuitBreaker.onSuccess();
+                }
+                recorded = true;
+                throw e;
+            } finally {
+                // Error 등으로 결과를 기록하지 못했으면 HALF_OPEN 시험 호출 허가만 반환
+                if (!recorded) {
+                    endpoint.circuitBreaker.releasePermission();
+                }
+            }
+        } finally {
+            endpoint.bulkhead.release();
+        }
+    }
+
+    /**
+     * 외부 서비스 상태 때문에 실패한 호출인지 판단합니다. (5xx, 429, 타임아웃, 연결/입출력 오류)
+     */
+    static boolean isServiceFailure(RuntimeException e) {
+        if (e instanceof HttpStatusCodeException statusException) {
+            return statusException.getStatusCode().is5xxServerError()
+                    || statusException.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        if (e instanceof ResourceAccessException) {
+            return true;
+        }
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isRetryable(HttpStatusCodeException e) {
+        int status = e.getStatusCode().value();
+        return status == HttpStatus.TOO_MANY_REQUESTS.value() || status == HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+
+    /**
+     * Retry-After 헤더의 대기 시간 (초 또는 HTTP 날짜 형식, 없거나 읽을 수 없으면 0)
+     */
+    static long retryAfterMillis(HttpStatusCodeException e) {
+        HttpHeaders headers = e.getResponseHeaders();
+        String value = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim()) * 1000);
+        } catch (NumberFormatException ignored) {
+            // HTTP 날짜 형식
+        }
+        try {
+            ZonedDateTime retryAt = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(ZonedDateTime.now(retryAt.getZone()), retryAt).toMillis());
+        } catch (DateTimeParseException ignored) {
+            return 0;
+        }
+    }
+
+    /**
+     * 전체 지터(full jitter) 지수 백오프: 0 ~ min(최대값, 초기값 * 2^(시도-1))
+     */
+    private long backoffMillis(Endpoint endpoint, int attempt) {
+        long ceiling = Math.min(endpoint.backoffMaxMillis, endpoint.backoffInitialMillis << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExternalServiceUnavailableException("외부 API 재시도 대기 중 중단되었습니다.");
+        }
+    }
+
+    private void reject(Endpoint endpoint, String reason) {
+        meterRegistry.counter("resilience.rejected", "endpoint", endpoint.name, "reason", reason).increment();
+    }
+
+    private Endpoint createEndpoint(String name) {
+        String prefix = "resilience." + name + ".";
+        Endpoint endpoint = new Endpoint(
+                name,
+                new CircuitBreaker(
+                        environment.getProperty(prefix + "sliding-window-size", Integer.class, 20),
+                        environment.getProperty(prefix + "minimum-calls", Integer.class, 10),
+                        environment.getProperty(prefix + "failure-rate-threshold", Double.class, 0.5),
+                        environment.getProperty(prefix + "open-duration-ms", Long.class, 30000L),
+                        environment.getProperty(prefix + "half-open-calls", Integer.class, 3)),
+                new Semaphore(environment.getProperty(prefix + "max-concurrent", Integer.class, 16)),
+                environment.getProperty(prefix + "max-attempts", Integer.class, 3),
+                environment.getProperty(prefix + "backoff-initial-ms", Long.class, 500L),
+                environment.getProperty(prefix + "backoff-max-ms", Long.class, 8000L));
+
+        // 0: CLOSED, 1: OPEN, 2: HALF_OPEN
+        Gauge.builder("resilience.circuit.state", endpoint.circuitBreaker, breaker -> breaker.getState().ordinal())
+                .tag("endpoint", name)
+                .register(meterRegistry);
+        Gauge.builder("resilience.bulkhead.available", endpoint.bulkhead, Semaphore::availablePermits)
+                .tag("endpoint", name)
+                .register(meterRegistry);
+        return endpoint;
+    }
+
+    private record Endpoint(String name, CircuitBreaker circuitBreaker, Semaphore bulkhead,
+                            int maxAttempts, long backoffInitialMillis, long backoffMaxMillis) {
+    }
+}
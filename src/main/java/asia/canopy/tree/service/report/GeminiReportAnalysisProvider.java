@@ -0,0 +1,289 @@
+package asia.canopy.tree.service.report;
+
+import asia.canopy.tree.dto.MonthlyReportDto;
+import asia.canopy.tree.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.*;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Gemini API와 Google Custom Search API를 사용하는 분석 제공자
+ * gemini.streaming.enabled 설정 시 streamGenerateContent(SSE)로 호출하여 응답을 조각 단위로 읽습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "report.analysis.provider", havingValue = "gemini", matchIfMissing = true)
+public class GeminiReportAnalysisProvider implements ReportAnalysisProvider {
+
+    private static final String GEMINI_BASE_URL = "https://generativelanguage.googleapis.com/v1beta/models/";
+    private static final String CSE_URL = "https://www.googleapis.com/customsearch/v1";
+
+    @Qualifier("geminiRestTemplate")
+    private final RestTemplate geminiRestTemplate;
+
+    @Qualifier("cseRestTemplate")
+    private final RestTemplate cseRestTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${gemini.api-key}")
+    private String geminiApiKey;
+
+    @Value("${gemini.model:gemini-1.5-flash}")
+    private String geminiModel;
+
+    @Value("${gemini.streaming.enabled:false}")
+    private boolean streamingEnabled;
+
+    @Value("${google.cse.api-key}")
+    private String googleCseApiKey;
+
+    @Value("${google.cse.engine-id}")
+    private String googleCseEngineId;
+
+    @Override
+    public String modelName() {
+        return geminiModel;
+    }
+
+    @Override
+    public String generate(ReportStage stage, String prompt, Map<String, Object> generationConfig) {
+        if (streamingEnabled) {
+            return callGeminiStreamApi(prompt, generationConfig, chunk -> {
+            });
+        }
+        try {
+            return extractText(callGeminiApi(prompt, generationConfig));
+        } catch (IOException e) {
+            log.warn("Gemini API 응답 JSON 오류: {}", e.getMessage());
+            throw new BadRequestException("API 응답을 파싱할 수 없습니다.");
+        }
+    }
+
+    @Override
+    public String generate(ReportStage stage, String prompt, Map<String, Object> generationConfig,
+                           Consumer<String> textChunkConsumer) {
+        if (streamingEnabled) {
+            return callGeminiStreamApi(prompt, generationConfig, textChunkConsumer);
+        }
+        String text = generate(stage, prompt, generationConfig);
+        textChunkConsumer.accept(text);
+        return text;
+    }
+
+    @Override
+    public List<MonthlyReportDto.RecommendationDto> search(String searchQuery) {
+        List<MonthlyReportDto.RecommendationDto> recommendations = new ArrayList<>();
+
+        try {
+            // 요청 매개변수 설정
+            UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(CSE_URL)
+                    .queryParam("key", googleCseApiKey)
+                    .queryParam("cx", googleCseEngineId)
+                    .queryParam("q", searchQuery)
+                    .queryParam("num", 3); // 최대 3개 결과 요청
+
+            // API 호출
+            ResponseEntity<String> response = cseRestTemplate.getForEntity(
+                    builder.toUriString(),
+                    String.class
+            );
+
+            // 응답 처리
+            if (response.getStatusCode() == HttpStatus.OK) {
+                JsonNode rootNode = objectMapper.readTree(response.getBody());
+                JsonNode items = rootNode.path("items");
+
+                if (items.isArray() && items.size() > 0) {
+                    for (JsonNode item : items) {
+                        String title = item.path("title").asText();
+                        String link = item.path("link").asText();
+
+                        // 유효한 제목과 링크인 경우만 추가
+                        if (!title.isEmpty() && !link.isEmpty()) {
+                            recommendations.add(new MonthlyReportDto.RecommendationDto(title, link));
+                        }
+                    }
+                    log.info("Google CSE 검색 성공: 쿼리='{}', 결과 수={}", searchQuery, recommendations.size());
+                } else {
+                    log.warn("Google CSE 검색 결과 없음: 쿼리='{}'", searchQuery);
+                }
+                return recommendations;
+            }
+
+            log.warn("Google CSE API 호출 실패: 상태 코드={}", response.getStatusCode());
+            throw new BadRequestException("Google CSE API 호출 실패: " + response.getStatusCode());
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Google CSE 응답을 파싱할 수 없습니다.");
+        }
+    }
+
+    /**
+     * Gemini API를 호출합니다.
+     */
+    private String callGeminiApi(String prompt, Map<String, Object> generationConfig) {
+        String geminiUrl = GEMINI_BASE_URL + geminiModel + ":generateContent";
+
+        try {
+            UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(geminiUrl)
+                    .queryParam("key", geminiApiKey);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+
+            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(createRequestBody(prompt, generationConfig), headers);
+
+            ResponseEntity<String> response = geminiRestTemplate.exchange(
+                    builder.toUriString(),
+                    HttpMethod.POST,
+                    entity,
+                    String.class
+            );
+
+            if (response.getStatusCode() == HttpStatus.OK) {
+                log.debug("Gemini API 호출 성공");
+                return response.getBody();
+            } else {
+                log.warn("Gemini API 호출 실패: 상태 코드={}", response.getStatusCode());
+                throw new BadRequestException("Gemini API 호출 실패: " + response.getStatusCode());
+            }
+        } catch (HttpStatusCodeException e) {
+            // 상태 코드는 호출 보호 계층에서 재시도 여부 판단에 사용
+            log.warn("Gemini API 오류 응답: 상태 코드={}", e.getStatusCode());
+            throw e;
+        } catch (ResourceAccessException e) {
+            // 타임아웃/연결 오류는 호출 보호 계층에서 서킷 브레이커 실패로 기록
+            log.warn("Gemini API 연결 오류: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Gemini API 호출 중 오류 발생: {}", e.getMessage(), e);
+            throw new BadRequestException("Gemini API 호출 중 오류 발생: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gemini 스트리밍 API를 호출합니다.
+     * 응답 본문 전체를 버퍼에 담지 않고 SSE 이벤트를 한 줄씩 읽어 텍스트 조각을 바로 전달하므로,
+     * 호출당 메모리는 응답 크기와 관계없이 이벤트 하나 크기로 유지됩니다. (반환용 텍스트 제외)
+     */
+    private String callGeminiStreamApi(String prompt, Map<String, Object> generationConfig,
+                                       Consumer<String> textChunkConsumer) {
+        String geminiUrl = GEMINI_BASE_URL + geminiModel + ":streamGenerateContent";
+
+        try {
+            String uri = UriComponentsBuilder.fromHttpUrl(geminiUrl)
+                    .queryParam("alt", "sse")
+                    .queryParam("key", geminiApiKey)
+                    .toUriString();
+            Map<String, Object> requestBody = createRequestBody(prompt, generationConfig);
+
+            String text = geminiRestTemplate.execute(uri, HttpMethod.POST,
+                    request -> {
+                        request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                        request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                        objectMapper.writeValue(request.getBody(), requestBody);
+                    },
+                    response -> readEventStream(response.getBody(), textChunkConsumer));
+
+            log.debug("Gemini 스트리밍 API 호출 성공");
+            return text;
+        } catch (HttpStatusCodeException e) {
+            // 상태 코드는 호출 보호 계층에서 재시도 여부 판단에 사용
+            log.warn("Gemini API 오류 응답: 상태 코드={}", e.getStatusCode());
+            throw e;
+        } catch (ResourceAccessException e) {
+            log.warn("Gemini 스트리밍 API 연결 오류: {}", e.getMessage());
+            throw e;
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Gemini 스트리밍 API 호출 중 오류 발생: {}", e.getMessage(), e);
+            throw new BadRequestException("Gemini API 호출 중 오류 발생: " + e.getMessage());
+        }
+    }
+
+    /**
+     * SSE 응답을 읽어 각 이벤트(data: {...})의 텍스트 조각을 전달하고, 전체 텍스트를 반환합니다.
+     */
+    private String readEventStream(InputStream body, Consumer<String> textChunkConsumer) throws IOException {
+        StringBuilder text = new StringBuilder();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.startsWith("data:")) {
+                continue;
+            }
+
+            JsonNode event = objectMapper.readTree(line.substring("data:".length()));
+            if (event.has("error")) {
+                log.warn("Gemini 스트리밍 오류 이벤트: {}", event.get("error"));
+                throw new BadRequestException("Gemini API 오류: " + event.path("error").path("message").asText());
+            }
+
+            for (JsonNode part : event.path("candidates").path(0).path("content").path("parts")) {
+                String chunk = part.path("text").asText("");
+                if (!chunk.isEmpty()) {
+                    text.append(chunk);
+                    textChunkConsumer.accept(chunk);
+                }
+            }
+        }
+
+        if (text.isEmpty()) {
+            log.warn("Gemini 스트리밍 응답에 텍스트가 없습니다.");
+            throw new BadRequestException("API 응답을 파싱할 수 없습니다.");
+        }
+        return text.toString();
+    }
+
+    private Map<String, Object> createRequestBody(String prompt, Map<String, Object> generationConfig) {
+        Map<String, Object> requestBody = new HashMap<>();
+        Map<String, Object> content = new HashMap<>();
+        List<Map<String, Object>> parts = new ArrayList<>();
+
+        Map<String, Object> textPart = new HashMap<>();
+        textPart.put("text", prompt);
+        parts.add(textPart);
+
+        content.put("parts", parts);
+        requestBody.put("contents", Collections.singletonList(content));
+        if (generationConfig != null) {
+            requestBody.put("generationConfig", generationConfig);
+        }
+        return requestBody;
+    }
+
+    /**
+     * API 응답에서 첫 번째 후보의 텍스트를 추출합니다.
+     */
+    private String extractText(String response) throws IOException {
+        String text = GeminiResponseTextExtractor.extract(objectMapper.getFactory(), response);
+        if (text != null) {
+            return text;
+        }
+
+        log.warn("Gemini API 응답 형식 오류: {}", response);
+        throw new BadRequestException("API 응답을 파싱할 수 없습니다.");
+    }
+}
@@ -0,0 +1,162 @@
+package asia.canopy.tree.service.report;
+
+import asia.canopy.tree.domain.GeminiResponseCacheEntry;
+import asia.canopy.tree.repository.GeminiResponseCacheRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Gemini 응답 텍스트 캐시
+ * 키는 모델명, 프롬프트 버전, 프롬프트 본문, generationConfig(응답 스키마, temperature 등)의 SHA-256 해시이며,
+ * 메모리 LRU 캐시를 먼저 확인하고 설정 시 DB 캐시를 2차로 사용합니다.
+ * DB 캐시의 만료된 항목은 주기적으로 삭제합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeminiResponseCache {
+
+    private final GeminiResponseCacheRepository cacheRepository;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Value("${gemini.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gemini.cache.persistent:false}")
+    private boolean persistent;
+
+    @Value("${gemini.cache.max-entries:500}")
+    private int maxEntries;
+
+    @Value("${gemini.cache.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    private TtlLruCache<String, String> memoryCache;
+
+    @PostConstruct
+    void init() {
+        memoryCache = new TtlLruCache<>(maxEntries, Duration.ofMinutes(ttlMinutes));
+        meterRegistry.gauge("gemini.cache.size", memoryCache, TtlLruCache::size);
+    }
+
+    /**
+     * 캐시된 응답을 조회합니다. 없으면 null을 반환합니다.
+     */
+    public String get(String modelName, String promptVersion, String prompt, Map<String, Object> generationConfig) {
+        if (!enabled) {
+            return null;
+        }
+
+        String key = cacheKey(modelName, promptVersion, prompt, generationConfig);
+        String cached = memoryCache.get(key);
+        if (cached != null) {
+            count("memory", "hit");
+            return cached;
+        }
+        count("memory", "miss");
+
+        if (!persistent) {
+            return null;
+        }
+
+        GeminiResponseCacheEntry entry = cacheRepository.findById(key).orElse(null);
+        if (entry == null || entry.isExpired()) {
+            count("db", "miss");
+            return null;
+        }
+        count("db", "hit");
+        memoryCache.put(key, entry.getResponseText());
+        return entry.getResponseText();
+    }
+
+    /**
+     * 응답을 캐시에 저장합니다.
+     */
+    public void put(String modelName, String promptVersion, String prompt, Map<String, Object> generationConfig,
+                    String responseText) {
+        if (!enabled) {
+            return;
+        }
+
+        String key = cacheKey(modelName, promptVersion, prompt, generationConfig);
+        memoryCache.put(key, responseText);
+
+        if (persistent) {
+            try {
+                cacheRepository.save(GeminiResponseCacheEntry.builder()
+                        .cacheKey(key)
+                        .modelName(modelName)
+                        .promptVersion(promptVersion)
+                        .responseText(responseText)
+                        .expiresAt(LocalDateTime.now().plusMinutes(ttlMinutes))
+                        .build());
+            } catch (Exception e) {
+                // DB 캐시 저장 실패는 리포트 생성에 영향을 주지 않음
+                log.warn("Gemini 응답 캐시 저장 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 파싱할 수 없는 응답 등 잘못된 항목을 캐시에서 제거합니다.
+     */
+    public void invalidate(String modelName, String promptVersion, String prompt, Map<String, Object> generationConfig) {
+        String key = cacheKey(modelName, promptVersion, prompt, generationConfig);
+        memoryCache.invalidate(key);
+        if (persistent) {
+            cacheRepository.deleteById(key);
+        }
+    }
+
+    /**
+     * DB 캐시에서 만료된 항목을 삭제합니다.
+     */
+    @Scheduled(cron = "${gemini.cache.cleanup-cron:0 15 4 * * *}")
+    public void cleanup() {
+        if (!persistent) {
+            return;
+        }
+        int deleted = cacheRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("만료된 Gemini 응답 캐시 삭제: {}건", deleted);
+        }
+    }
+
+    private void count(String tier, String result) {
+        meterRegistry.counter("gemini.cache.lookups", "tier", tier, "result", result).increment();
+    }
+
+    private String cacheKey(String modelName, String promptVersion, String prompt, Map<String, Object> generationConfig) {
+        if (generationConfig == null || generationConfig.isEmpty()) {
+            return ContentHasher.sha256(modelName, promptVersion, prompt);
+        }
+        return ContentHasher.sha256(modelName, promptVersion, prompt, configKey(generationConfig));
+    }
+
+    /**
+     * generationConfig를 키 순서로 정렬한 JSON으로 바꿉니다. (같은 설정이면 같은 문자열)
+     */
+    private String configKey(Map<String, Object> generationConfig) {
+        try {
+            return objectMapper.writer()
+                    .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                    .writeValueAsString(generationConfig);
+        } catch (JsonProcessingException e) {
+            return new TreeMap<>(generationConfig).toString();
+        }
+    }
+}
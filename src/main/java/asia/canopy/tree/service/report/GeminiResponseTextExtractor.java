@@ -0,0 +1,55 @@
+package asia.canopy.tree.service.report;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Gemini generateContent 응답에서 candidates[0].content.parts[0].text만 스트리밍 파서로 꺼냅니다.
+ * 응답 전체를 트리로 만들지 않고, 필요 없는 필드는 건너뛰며, 텍스트를 찾으면 나머지는 읽지 않습니다.
+ */
+public final class GeminiResponseTextExtractor {
+
+    private GeminiResponseTextExtractor() {
+    }
+
+    /**
+     * @return 첫 번째 후보의 텍스트 (형식이 다르면 null)
+     */
+    public static String extract(JsonFactory jsonFactory, String response) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(response)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT
+                    || !moveToField(parser, "candidates") || !enterFirstObject(parser)
+                    || !moveToField(parser, "content") || parser.nextToken() != JsonToken.START_OBJECT
+                    || !moveToField(parser, "parts") || !enterFirstObject(parser)
+                    || !moveToField(parser, "text")) {
+                return null;
+            }
+            JsonToken value = parser.nextToken();
+            return value != null && value.isScalarValue() ? parser.getText() : null;
+        }
+    }
+
+    /**
+     * 현재 객체 안에서 지정한 필드까지 이동합니다. 다른 필드의 값은 건너뜁니다.
+     */
+    private static boolean moveToField(JsonParser parser, String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (name.equals(parser.currentName())) {
+                return true;
+            }
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    /**
+     * 배열 값의 첫 번째 객체 안으로 들어갑니다.
+     */
+    private static boolean enterFirstObject(JsonParser parser) throws IOException {
+        return parser.nextToken() == JsonToken.START_ARRAY && parser.nextToken() == JsonToken.START_OBJECT;
+    }
+}
@@ -0,0 +1,57 @@
+package asia.canopy.tree.service.report;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 프롬프트에 대한 Gemini 응답 텍스트를 생성합니다.
+ * 같은 모델, 프롬프트 버전, 프롬프트, generationConfig는 응답 캐시를 사용하고,
+ * 캐시에 없으면 {@link ExternalCallGuard}로 보호된 호출로 생성한 뒤 캐시에 저장합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeminiTextGenerator {
+
+    private final ReportAnalysisProvider analysisProvider;
+    private final ExternalCallGuard externalCallGuard;
+    private final GeminiResponseCache geminiResponseCache;
+
+    public String generate(ReportStage stage, String promptVersion, String prompt, boolean refresh) {
+        return generate(stage, promptVersion, prompt, null, refresh, chunk -> {
+        });
+    }
+
+    /**
+     * 응답 텍스트 조각을 도착하는 대로 전달받는 버전 (캐시된 응답은 한 번에 전달)
+     *
+     * @param refresh true이면 캐시를 조회하지 않고 새로 생성한 응답으로 캐시를 갱신
+     */
+    public String generate(ReportStage stage, String promptVersion, String prompt,
+                           Map<String, Object> generationConfig, boolean refresh,
+                           Consumer<String> textChunkConsumer) {
+        String modelName = analysisProvider.modelName();
+        String cached = refresh ? null : geminiResponseCache.get(modelName, promptVersion, prompt, generationConfig);
+        if (cached != null) {
+            log.debug("응답 캐시 사용: 단계={}", stage);
+            textChunkConsumer.accept(cached);
+            return cached;
+        }
+
+        String text = externalCallGuard.execute(ExternalCallGuard.GEMINI,
+                () -> analysisProvider.generate(stage, prompt, generationConfig, textChunkConsumer));
+        geminiResponseCache.put(modelName, promptVersion, prompt, generationConfig, text);
+        return text;
+    }
+
+    /**
+     * 파싱할 수 없는 응답 등 잘못된 응답을 캐시에서 제거합니다.
+     */
+    public void invalidate(String promptVersion, String prompt, Map<String, Object> generationConfig) {
+        geminiResponseCache.invalidate(analysisProvider.modelName(), promptVersion, prompt, generationConfig);
+    }
+}
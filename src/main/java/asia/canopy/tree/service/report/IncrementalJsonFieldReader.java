@@ -0,0 +1,80 @@
+package asia.canopy.tree.service.report;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BiConsumer;
+
+/**
+ * 조각(chunk) 단위로 도착하는 JSON 객체를 점진적으로 파싱하여
+ * 최상위 필드의 값(문자열, 불리언, 숫자)이 완성되는 즉시 전달합니다.
+ * 배열이나 객체 값은 건너뜁니다. JSON이 아닌 입력을 만나면 이후 입력은 무시합니다.
+ */
+@Slf4j
+public class IncrementalJsonFieldReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final BiConsumer<String, String> fieldConsumer;
+    private final JsonParser parser;
+    private int depth;
+    private String currentField;
+    private boolean failed;
+
+    /**
+     * @param fieldConsumer (필드명, 값 텍스트)를 전달받는 콜백
+     */
+    public IncrementalJsonFieldReader(BiConsumer<String, String> fieldConsumer) {
+        this.fieldConsumer = fieldConsumer;
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 다음 텍스트 조각을 파싱합니다.
+     */
+    public void feed(String chunk) {
+        if (failed || chunk == null || chunk.isEmpty()) {
+            return;
+        }
+
+        byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+        try {
+            ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).feedInput(bytes, 0, bytes.length);
+            drain();
+        } catch (IOException e) {
+            // 코드 블록 등 JSON이 아닌 응답: 점진적 파싱만 중단하고 전체 응답은 기존 방식으로 파싱
+            log.debug("점진적 JSON 파싱 중단: {}", e.getMessage());
+            failed = true;
+        }
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> depth++;
+                case END_OBJECT, END_ARRAY -> depth--;
+                case FIELD_NAME -> {
+                    if (depth == 1) {
+                        currentField = parser.currentName();
+                    }
+                }
+                default -> {
+                    if (depth == 1 && currentField != null && token.isScalarValue()) {
+                        fieldConsumer.accept(currentField, parser.getText());
+                        currentField = null;
+                    }
+                }
+            }
+        }
+    }
+}
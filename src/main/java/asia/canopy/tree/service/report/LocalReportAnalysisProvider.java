@@ -0,0 +1,180 @@
+package asia.canopy.tree.service.report;
+
+import asia.canopy.tree.dto.MonthlyReportDto;
+import asia.canopy.tree.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 네트워크 없이 동작하는 부하 테스트/벤치마크용 분석 제공자
+ * 응답 내용은 프롬프트 해시로 결정되므로 같은 입력에는 항상 같은 결과를 반환하며,
+ * 지연 시간과 오류(503, 429) 발생 비율은 설정으로 조절합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "report.analysis.provider", havingValue = "local")
+public class LocalReportAnalysisProvider implements ReportAnalysisProvider {
+
+    private static final List<String> EMOTIONS = List.of(
+            "calm", "grateful", "tired", "anxious", "hopeful", "lonely", "content", "stressed", "excited");
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${report.analysis.local.latency-ms:800}")
+    private long latencyMillis;
+
+    @Value("${report.analysis.local.latency-jitter-ms:400}")
+    private long latencyJitterMillis;
+
+    // 503 응답 비율
+    @Value("${report.analysis.local.error-rate:0.0}")
+    private double errorRate;
+
+    // 429 응답 비율
+    @Value("${report.analysis.local.rate-limit-rate:0.0}")
+    private double rateLimitRate;
+
+    // 위험 있음으로 판정하는 비율
+    @Value("${report.analysis.local.risk-rate:0.2}")
+    private double riskRate;
+
+    @Value("${report.analysis.local.seed:42}")
+    private long seed;
+
+    private Random random;
+
+    @Override
+    public String modelName() {
+        return "local";
+    }
+
+    @Override
+    public String generate(ReportStage stage, String prompt, Map<String, Object> generationConfig) {
+        simulateNetwork();
+
+        int hash = prompt.hashCode() & Integer.MAX_VALUE;
+        switch (stage) {
+            case EMOTION:
+                return emotionText(hash);
+            case RISK:
+                return riskText(hash);
+            case CHECKUP:
+                return prompt.contains("mental health self-assessment")
+                        ? "depression self assessment test"
+                        : "personality type test";
+            case OVERVIEW:
+                return "ONE_LINE_SUMMARY: A month of small steps forward\n" +
+                        "PARAGRAPH_SUMMARY: " + paragraph(hash);
+            case TREND:
+                return "ONE_LINE_SUMMARY: A season of steady growth\n" +
+                        "PARAGRAPH_SUMMARY: " + paragraph(hash);
+            case COMBINED:
+                return combinedJson(hash);
+            default:
+                return paragraph(hash);
+        }
+    }
+
+    @Override
+    public List<MonthlyReportDto.RecommendationDto> search(String searchQuery) {
+        simulateNetwork();
+
+        List<MonthlyReportDto.RecommendationDto> recommendations = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            recommendations.add(new MonthlyReportDto.RecommendationDto(
+                    searchQuery + " #" + i,
+                    "https://example.com/search/" + (searchQuery.hashCode() & Integer.MAX_VALUE) + "/" + i));
+        }
+        return recommendations;
+    }
+
+    /**
+     * 설정된 지연 시간만큼 대기하고, 설정된 비율로 오류를 발생시킵니다.
+     */
+    private void simulateNetwork() {
+        double roll;
+        long delay;
+        synchronized (this) {
+            if (random == null) {
+                random = new Random(seed);
+            }
+            roll = random.nextDouble();
+            delay = latencyMillis + (latencyJitterMillis > 0
+                    ? (long) ((random.nextDouble() * 2 - 1) * latencyJitterMillis)
+                    : 0);
+        }
+
+        try {
+            Thread.sleep(Math.max(0, delay));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BadRequestException("로컬 분석 제공자 호출이 중단되었습니다.");
+        }
+
+        if (roll < errorRate) {
+            throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE, "simulated unavailable");
+        }
+        if (roll < errorRate + rateLimitRate) {
+            throw new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS, "simulated rate limit");
+        }
+    }
+
+    private List<String> keywords(int hash) {
+        int count = 3 + hash % 3;
+        List<String> keywords = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            keywords.add(EMOTIONS.get((hash / 7 + i * 2) % EMOTIONS.size()));
+        }
+        return keywords;
+    }
+
+    private boolean hasRisk(int hash) {
+        return (hash % 1000) / 1000.0 < riskRate;
+    }
+
+    private String paragraph(int hash) {
+        return "This month showed a gradual shift from " + EMOTIONS.get(hash % EMOTIONS.size()) +
+                " days early on toward a steadier rhythm by the end, with reflection and rest playing a visible role.";
+    }
+
+    private String emotionText(int hash) {
+        StringBuilder text = new StringBuilder();
+        keywords(hash).forEach(keyword -> text.append("- ").append(keyword).append("\n"));
+        return text.append("\n").append(paragraph(hash)).toString();
+    }
+
+    private String riskText(int hash) {
+        return paragraph(hash) + "\n\n" + (hasRisk(hash) ? "[MENTAL_HEALTH_RISK: YES]" : "[MENTAL_HEALTH_RISK: NO]");
+    }
+
+    private String combinedJson(int hash) {
+        boolean risk = hasRisk(hash);
+        CombinedAnalysis analysis = new CombinedAnalysis(
+                keywords(hash),
+                paragraph(hash),
+                paragraph(hash / 3),
+                risk,
+                risk ? "depression self assessment test" : "personality type test",
+                "A month of small steps forward",
+                paragraph(hash / 5));
+        try {
+            return objectMapper.writeValueAsString(analysis);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package asia.canopy.tree.service.report;
+
+/**
+ * 개요 요약 단계 결과
+ *
+ * @param oneLineSummary 한 줄 요약
+ * @param overview       전체 개요 문단
+ */
+public record OverviewSummary(String oneLineSummary, String overview) {
+}
@@ -0,0 +1,27 @@
+package asia.canopy.tree.service.report;
+
+/**
+ * 프롬프트 토큰 수를 대략적으로 추정합니다.
+ * 영문/숫자 등 ASCII 문자는 약 4자당 1토큰, 한글 등 그 외 문자는 1자당 1토큰으로 계산합니다.
+ */
+public final class PromptTokenEstimator {
+
+    private PromptTokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 0x80) {
+                ascii++;
+            } else {
+                other++;
+            }
+        }
+        return (ascii + 3) / 4 + other;
+    }
+}
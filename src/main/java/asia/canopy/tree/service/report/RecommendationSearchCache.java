@@ -0,0 +1,74 @@
+package asia.canopy.tree.service.report;
+
+import asia.canopy.tree.dto.MonthlyReportDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Google CSE 검색 결과 캐시
+ * 정규화한 검색어를 키로 사용하며, 결과가 없거나 호출에 실패한 경우(빈 목록)도
+ * 짧은 TTL로 저장해서 CSE 장애 시 매 리포트마다 타임아웃을 기다리지 않도록 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecommendationSearchCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${google.cse.cache.max-entries:200}")
+    private int maxEntries;
+
+    @Value("${google.cse.cache.ttl-minutes:720}")
+    private long ttlMinutes;
+
+    @Value("${google.cse.cache.negative-ttl-seconds:120}")
+    private long negativeTtlSeconds;
+
+    private TtlLruCache<String, List<MonthlyReportDto.RecommendationDto>> cache;
+
+    @PostConstruct
+    void init() {
+        cache = new TtlLruCache<>(maxEntries, Duration.ofMinutes(ttlMinutes));
+        meterRegistry.gauge("cse.cache.size", cache, TtlLruCache::size);
+    }
+
+    /**
+     * 캐시된 검색 결과를 반환합니다.
+     * 캐시에 없으면 null, 실패가 캐시된 경우 빈 목록을 반환합니다.
+     */
+    public List<MonthlyReportDto.RecommendationDto> get(String searchQuery) {
+        List<MonthlyReportDto.RecommendationDto> cached = cache.get(normalize(searchQuery));
+        if (cached == null) {
+            count("miss");
+        } else {
+            count(cached.isEmpty() ? "negative_hit" : "hit");
+        }
+        return cached;
+    }
+
+    public void put(String searchQuery, List<MonthlyReportDto.RecommendationDto> recommendations) {
+        cache.put(normalize(searchQuery), List.copyOf(recommendations));
+    }
+
+    /**
+     * 검색 실패 또는 결과 없음을 짧은 시간 동안 기억합니다.
+     */
+    public void putNegative(String searchQuery) {
+        cache.put(normalize(searchQuery), List.of(), Duration.ofSeconds(negativeTtlSeconds));
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("cse.cache.lookups", "result", result).increment();
+    }
+
+    static String normalize(String searchQuery) {
+        return searchQuery.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+}
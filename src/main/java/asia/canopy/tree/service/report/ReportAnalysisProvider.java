@@ -0,0 +1,48 @@
+package asia.canopy.tree.service.report;
+
+import asia.canopy.tree.dto.MonthlyReportDto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 리포트 파이프라인이 사용하는 외부 분석 기능 (LLM 텍스트 생성, 추천 검색)
+ * report.analysis.provider 설정으로 구현체를 선택합니다. (gemini, local)
+ */
+public interface ReportAnalysisProvider {
+
+    /**
+     * 응답 캐시 키에 포함되는 모델 이름
+     */
+    String modelName();
+
+    /**
+     * 프롬프트에 대한 응답 텍스트를 생성합니다.
+     *
+     * @param stage            호출한 파이프라인 단계
+     * @param prompt           프롬프트
+     * @param generationConfig 생성 설정 (응답 스키마 등, 없으면 null)
+     * @return 응답 텍스트
+     */
+    String generate(ReportStage stage, String prompt, Map<String, Object> generationConfig);
+
+    /**
+     * 프롬프트에 대한 응답 텍스트를 생성하면서, 생성된 텍스트 조각을 도착하는 순서대로 전달합니다.
+     * 스트리밍을 지원하지 않는 구현은 전체 응답을 한 번에 전달합니다.
+     *
+     * @param textChunkConsumer 응답 텍스트 조각을 전달받는 콜백
+     * @return 전체 응답 텍스트
+     */
+    default String generate(ReportStage stage, String prompt, Map<String, Object> generationConfig,
+                            Consumer<String> textChunkConsumer) {
+        String text = generate(stage, prompt, generationConfig);
+        textChunkConsumer.accept(text);
+        return text;
+    }
+
+    /**
+     * 검색어로 추천 항목을 검색합니다. 결과가 없으면 빈 목록을 반환합니다.
+     */
+    List<MonthlyReportDto.RecommendationDto> search(String searchQuery);
+}
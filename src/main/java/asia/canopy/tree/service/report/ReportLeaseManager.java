@@ -0,0 +1,119 @@
+package asia.canopy.tree.service.report;
+
+import asia.canopy.tree.repository.ReportLeaseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DB 행을 이용한 노드 간 리스
+ * 여러 서버 중 하나만 같은 키의 작업(리포트 생성 등)을 수행하도록 합니다.
+ * 리스는 TTL이 지나면 다른 노드가 가져갈 수 있으며, 이 노드가 보유 중인 리스는 작업이 끝날 때까지
+ * report.lease.heartbeat-interval-ms마다 만료 시각을 연장합니다. (heartbeat 간격은 TTL보다 충분히 짧아야 함)
+ * 연장에 실패한 리스는 잃은 것으로 보고, 작업 결과를 저장하기 전에 isOwned로 확인합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReportLeaseManager {
+
+    private final ReportLeaseRepository reportLeaseRepository;
+
+    @Value("${report.lease.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final String nodeId = createNodeId();
+
+    // 이 노드가 보유 중인 리스 키 (heartbeat 대상)
+    private final Set<String> heldLeases = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 리스를 획득합니다.
+     *
+     * @return 획득 성공 여부
+     */
+    public boolean tryAcquire(String leaseKey) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusSeconds(ttlSeconds);
+
+        boolean acquired;
+        if (reportLeaseRepository.takeOver(leaseKey, nodeId, expiresAt, now) > 0) {
+            acquired = true;
+        } else {
+            try {
+                acquired = reportLeaseRepository.insert(leaseKey, nodeId, expiresAt) > 0;
+            } catch (DataIntegrityViolationException e) {
+                // 다른 노드가 보유 중
+                acquired = false;
+            }
+        }
+        if (acquired) {
+            heldLeases.add(leaseKey);
+        }
+        return acquired;
+    }
+
+    public void release(String leaseKey) {
+        heldLeases.remove(leaseKey);
+        try {
+            reportLeaseRepository.release(leaseKey, nodeId);
+        } catch (Exception e) {
+            // 해제에 실패해도 TTL이 지나면 만료됨
+            log.warn("리스 해제 실패: 키={}, 오류={}", leaseKey, e.getMessage());
+        }
+    }
+
+    public boolean isHeld(String leaseKey) {
+        return reportLeaseRepository.existsByLeaseKeyAndExpiresAtGreaterThanEqual(leaseKey, LocalDateTime.now());
+    }
+
+    /**
+     * 이 노드가 리스를 아직 보유하고 있는지 확인합니다. (만료되었거나 다른 노드가 가져갔으면 false)
+     */
+    public boolean isOwned(String leaseKey) {
+        return heldLeases.contains(leaseKey)
+                && reportLeaseRepository.existsByLeaseKeyAndOwnerAndExpiresAtGreaterThanEqual(
+                leaseKey, nodeId, LocalDateTime.now());
+    }
+
+    /**
+     * 보유 중인 리스의 만료 시각을 연장합니다.
+     */
+    @Scheduled(fixedDelayString = "${report.lease.heartbeat-interval-ms:60000}")
+    public void heartbeat() {
+        for (String leaseKey : heldLeases) {
+            try {
+                if (reportLeaseRepository.renew(leaseKey, nodeId, LocalDateTime.now().plusSeconds(ttlSeconds)) == 0) {
+                    heldLeases.remove(leaseKey);
+                    log.warn("리스를 다른 노드에 빼앗겼습니다: 키={}", leaseKey);
+                }
+            } catch (Exception e) {
+                // 다음 heartbeat에서 다시 시도
+                log.warn("리스 연장 실패: 키={}, 오류={}", leaseKey, e.getMessage());
+            }
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private static String createNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,77 @@
+package asia.canopy.tree.service.report;
+
+import asia.canopy.tree.dto.MonthlyReportDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 저장된 리포트의 응답 본문을 만들고 읽습니다.
+ * 리포트는 재생성 전까지 바뀌지 않으므로 저장할 때 한 번만 직렬화하고,
+ * 조회할 때는 DTO 변환과 직렬화 없이 저장된 바이트를 그대로 전송합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReportPayloadCodec {
+
+    public static final String GZIP = "gzip";
+    public static final String IDENTITY = "identity";
+
+    // 응답 JSON과 같은 설정으로 직렬화하기 위해 MVC와 같은 ObjectMapper 사용
+    private final ObjectMapper objectMapper;
+
+    @Value("${report.payload.gzip:true}")
+    private boolean gzipEnabled;
+
+    /**
+     * 리포트를 직렬화합니다.
+     *
+     * @return 저장할 본문, 인코딩, ETag
+     */
+    public Encoded encode(MonthlyReportDto report) throws JsonProcessingException {
+        String json = objectMapper.writeValueAsString(report);
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        String etag = ContentHasher.sha256(json);
+        if (!gzipEnabled) {
+            return new Encoded(bytes, IDENTITY, etag);
+        }
+        return new Encoded(gzip(bytes), GZIP, etag);
+    }
+
+    /**
+     * gzip을 지원하지 않는 클라이언트를 위해 압축을 풉니다.
+     */
+    public byte[] decode(byte[] payload, String encoding) {
+        if (!GZIP.equals(encoding)) {
+            return payload;
+        }
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("리포트 본문의 압축을 풀 수 없습니다.", e);
+        }
+    }
+
+    private byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public record Encoded(byte[] payload, String encoding, String etag) {
+    }
+}
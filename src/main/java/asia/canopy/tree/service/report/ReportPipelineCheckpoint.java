@@ -0,0 +1,147 @@
+package asia.canopy.tree.service.report;
+
+import asia.canopy.tree.domain.ReportPipelineRun;
+import asia.canopy.tree.dto.MonthlyReportDto;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 리포트 생성 실행 하나의 체크포인트
+ * 이전 시도에서 완료된 단계 결과를 제공하고, 새로 완료된 단계 결과를 바로 기록합니다.
+ * 여러 단계 스레드에서 동시에 기록할 수 있으므로 기록은 락으로 직렬화합니다. (같은 행을 읽고 수정하므로 갱신 유실 방지)
+ */
+public class ReportPipelineCheckpoint {
+
+    private final ReportPipelineRunStore store;
+    private final Long runId;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile EmotionAnalysis emotion;
+    private volatile RiskAnalysis risk;
+    private volatile String checkupQuery;
+    private volatile List<MonthlyReportDto.RecommendationDto> recommendations;
+    private volatile OverviewSummary overview;
+    private volatile CombinedAnalysis combined;
+
+    ReportPipelineCheckpoint(ReportPipelineRunStore store, Long runId,
+                             EmotionAnalysis emotion, RiskAnalysis risk, String checkupQuery,
+                             List<MonthlyReportDto.RecommendationDto> recommendations,
+                             OverviewSummary overview, CombinedAnalysis combined) {
+        this.store = store;
+        this.runId = runId;
+        this.emotion = emotion;
+        this.risk = risk;
+        this.checkupQuery = checkupQuery;
+        this.recommendations = recommendations;
+        this.overview = overview;
+        this.combined = combined;
+    }
+
+    /**
+     * 아무것도 기록하지 않는 체크포인트 (report.pipeline-runs.enabled=false)
+     */
+    static ReportPipelineCheckpoint disabled() {
+        return new ReportPipelineCheckpoint(null, null, null, null, null, null, null, null);
+    }
+
+    public Long getRunId() {
+        return runId;
+    }
+
+    public EmotionAnalysis emotion() {
+        return emotion;
+    }
+
+    public RiskAnalysis risk() {
+        return risk;
+    }
+
+    public String checkupQuery() {
+        return checkupQuery;
+    }
+
+    public List<MonthlyReportDto.RecommendationDto> recommendations() {
+        return recommendations;
+    }
+
+    public OverviewSummary overview() {
+        return overview;
+    }
+
+    public CombinedAnalysis combined() {
+        return combined;
+    }
+
+    public EmotionAnalysis saveEmotion(EmotionAnalysis value) {
+        emotion = value;
+        record(run -> run.setEmotionResult(store.write(value)));
+        return value;
+    }
+
+    public RiskAnalysis saveRisk(RiskAnalysis value) {
+        risk = value;
+        record(run -> run.setRiskResult(store.write(value)));
+        return value;
+    }
+
+    public String saveCheckupQuery(String value) {
+        checkupQuery = value;
+        record(run -> run.setCheckupQuery(value));
+        return value;
+    }
+
+    public List<MonthlyReportDto.RecommendationDto> saveRecommendations(
+            List<MonthlyReportDto.RecommendationDto> value) {
+        recommendations = value;
+        record(run -> run.setRecommendationsResult(store.write(value)));
+        return value;
+    }
+
+    public OverviewSummary saveOverview(OverviewSummary value) {
+        overview = value;
+        record(run -> run.setOverviewResult(store.write(value)));
+        return value;
+    }
+
+    public CombinedAnalysis saveCombined(CombinedAnalysis value) {
+        combined = value;
+        record(run -> run.setCombinedResult(store.write(value)));
+        return value;
+    }
+
+    /**
+     * 리포트 저장이 끝난 실행을 완료로 표시합니다.
+     */
+    public void complete(Long reportId) {
+        if (runId != null) {
+            locked(() -> store.complete(runId, reportId));
+        }
+    }
+
+    /**
+     * 실패한 실행을 표시합니다. 완료된 단계 결과는 다음 시도에서 재사용됩니다.
+     */
+    public void fail(String errorMessage) {
+        if (runId != null) {
+            locked(() -> store.fail(runId, errorMessage));
+        }
+    }
+
+    private void record(Consumer<ReportPipelineRun> change) {
+        if (runId != null) {
+            locked(() -> store.update(runId, change));
+        }
+    }
+
+    // 단계 스레드(가상 스레드)가 DB 기록을 기다리는 동안 캐리어 스레드에 고정되지 않도록 ReentrantLock 사용
+    private void locked(Runnable action) {
+        lock.lock();
+        try {
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package asia.canopy.tree.service.report;
+
+import asia.canopy.tree.domain.ReportPipelineRun;
+import asia.canopy.tree.domain.ReportPipelineRunStatus;
+import asia.canopy.tree.exception.BadRequestException;
+import asia.canopy.tree.repository.ReportPipelineRunRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * 월간 리포트 생성 실행(report_pipeline_runs)의 단계별 체크포인트를 저장하고 불러옵니다.
+ * 체크포인트 기록은 리포트 저장 트랜잭션과 별개로 각각 짧은 새 트랜잭션에서 실행되며,
+ * 기록에 실패해도 리포트 생성은 계속 진행합니다. (재시도 시 해당 단계만 다시 실행)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReportPipelineRunStore {
+
+    private static final EnumSet<ReportPipelineRunStatus> RESUMABLE =
+            EnumSet.of(ReportPipelineRunStatus.RUNNING, ReportPipelineRunStatus.FAILED);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ReportPipelineRunRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${report.pipeline-runs.enabled:true}")
+    private boolean enabled;
+
+    @Value("${report.pipeline-runs.retention-days:7}")
+    private int retentionDays;
+
+    /**
+     * Idempotency-Key로 등록된 실행을 조회합니다.
+     */
+    public Optional<ReportPipelineRun> findByIdempotencyKey(Long userId, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return Optional.empty();
+        }
+        return newTransaction(true).execute(status -> repository.findByUserIdAndIdempotencyKey(userId, idempotencyKey));
+    }
+
+    /**
+     * 실행을 시작합니다.
+     * 같은 Idempotency-Key의 실행이나 같은 입력으로 중단된 실행이 있으면 그 실행을 이어서 사용하고,
+     * 없으면 새 실행을 만듭니다.
+     *
+     * @param inputKey          일기 변경 감지값과 파이프라인 설정의 해시
+     * @param idempotencyKey    클라이언트가 보낸 Idempotency-Key (없으면 null)
+     * @param resumeInterrupted 키 없이 같은 입력으로 중단된 실행도 이어서 사용할지 여부 (강제 재생성이면 false)
+     * @throws BadRequestException 다른 월의 요청에 사용된 Idempotency-Key인 경우
+     */
+    public ReportPipelineCheckpoint start(Long userId, int year, int month, String inputKey, String idempotencyKey,
+                                          boolean resumeInterrupted) {
+        if (!enabled) {
+            return ReportPipelineCheckpoint.disabled();
+        }
+
+        ReportPipelineRun run = newTransaction(false).execute(status -> {
+            ReportPipelineRun existing = null;
+            if (idempotencyKey != null) {
+                existing = repository.findByUserIdAndIdempotencyKey(userId, idempotencyKey).orElse(null);
+                if (existing != null && (existing.getYear() != year || existing.getMonth() != month)) {
+                    throw new BadRequestException("다른 월의 리포트 요청에 사용된 Idempotency-Key입니다.");
+                }
+                if (existing != null && !inputKey.equals(existing.getInputKey())) {
+                    // 첫 요청 이후 일기가 바뀌었으면 같은 실행을 처음부터 다시 진행
+                    clearResults(existing);
+                    existing.setInputKey(inputKey);
+                }
+            }
+            if (existing == null && resumeInterrupted) {
+                existing = repository.findFirstByUserIdAndYearAndMonthAndInputKeyAndStatusInOrderByIdDesc(
+                                userId, year, month, inputKey, RESUMABLE)
+                        .filter(candidate -> idempotencyKey == null || candidate.getIdempotencyKey() == null)
+                        .orElse(null);
+                if (existing != null && idempotencyKey != null) {
+                    existing.setIdempotencyKey(idempotencyKey);
+                }
+            }
+
+            if (existing == null) {
+                meterRegistry.counter("report.pipeline.runs", "result", "new").increment();
+                return repository.save(ReportPipelineRun.builder()
+                        .userId(userId)
+                        .year(year)
+                        .month(month)
+                        .inputKey(inputKey)
+                        .idempotencyKey(idempotencyKey)
+                        .status(ReportPipelineRunStatus.RUNNING)
+                        .build());
+            }
+
+            meterRegistry.counter("report.pipeline.runs", "result", "resumed").increment();
+            log.info("중단된 리포트 생성 실행을 이어서 진행합니다: 실행 ID={}, 시도={}", existing.getId(), existing.getAttempts() + 1);
+            existing.setStatus(ReportPipelineRunStatus.RUNNING);
+            existing.setAttempts(existing.getAttempts() + 1);
+            existing.setErrorMessage(null);
+            existing.setUpdatedAt(LocalDateTime.now());
+            return repository.save(existing);
+        });
+
+        return new ReportPipelineCheckpoint(this, run.getId(),
+                read(run.getEmotionResult(), EmotionAnalysis.class),
+                read(run.getRiskResult(), RiskAnalysis.class),
+                run.getCheckupQuery(),
+                read(run.getRecommendationsResult(), new TypeReference<>() {
+                }),
+                read(run.getOverviewResult(), OverviewSummary.class),
+                read(run.getCombinedResult(), CombinedAnalysis.class));
+    }
+
+    /**
+     * 실행 하나를 새 트랜잭션에서 읽고 수정해서 저장합니다.
+     * 같은 실행에 대한 호출은 ReportPipelineCheckpoint에서 직렬화됩니다.
+     */
+    void update(Long runId, Consumer<ReportPipelineRun> change) {
+        try {
+            newTransaction(false).executeWithoutResult(status -> repository.findById(runId).ifPresent(run -> {
+                change.accept(run);
+                run.setUpdatedAt(LocalDateTime.now());
+                repository.save(run);
+            }));
+        } catch (Exception e) {
+            log.warn("리포트 생성 체크포인트 기록 실패: 실행 ID={}, 오류={}", runId, e.getMessage());
+        }
+    }
+
+    void complete(Long runId, Long reportId) {
+        update(runId, run -> {
+            run.setStatus(ReportPipelineRunStatus.COMPLETED);
+            run.setReportId(reportId);
+        });
+    }
+
+    void fail(Long runId, String errorMessage) {
+        update(runId, run -> {
+            run.setStatus(ReportPipelineRunStatus.FAILED);
+            run.setErrorMessage(errorMessage != null && errorMessage.length() > MAX_ERROR_LENGTH
+                    ? errorMessage.substring(0, MAX_ERROR_LENGTH) : errorMessage);
+        });
+    }
+
+    String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("체크포인트 직렬화 실패", e);
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 실행을 삭제합니다.
+     */
+    @Scheduled(cron = "${report.pipeline-runs.cleanup-cron:0 30 4 * * *}")
+    public void cleanup() {
+        int deleted = repository.deleteUpdatedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("보관 기간이 지난 리포트 생성 실행 삭제: {}건", deleted);
+        }
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        return read(json, objectMapper.getTypeFactory().constructType(type));
+    }
+
+    private <T> T read(String json, TypeReference<T> type) {
+        return read(json, objectMapper.getTypeFactory().constructType(type));
+    }
+
+    private <T> T read(String json, JavaType type) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            // 결과 형식이 바뀐 이전 체크포인트는 해당 단계를 다시 실행
+            log.warn("리포트 생성 체크포인트 읽기 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void clearResults(ReportPipelineRun run) {
+        run.setEmotionResult(null);
+        run.setRiskResult(null);
+        run.setCheckupQuery(null);
+        run.setRecommendationsResult(null);
+        run.setOverviewResult(null);
+        run.setCombinedResult(null);
+        run.setReportId(null);
+    }
+
+    private TransactionTemplate newTransaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setReadOnly(readOnly);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+}
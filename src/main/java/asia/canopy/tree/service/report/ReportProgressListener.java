@@ -0,0 +1,27 @@
+package asia.canopy.tree.service.report;
+
+import asia.canopy.tree.dto.MonthlyReportDto;
+
+import java.util.List;
+
+/**
+ * 리포트 생성 중 각 단계가 끝날 때마다 결과를 전달받는 리스너
+ * 단계 실행 스레드에서 호출되므로 오래 걸리는 작업을 하면 안 됩니다.
+ */
+public interface ReportProgressListener {
+
+    ReportProgressListener NONE = new ReportProgressListener() {
+    };
+
+    default void onEmotion(List<String> emotionKeywords, String emotionSummary) {
+    }
+
+    default void onRisk(String riskAnalysis, boolean hasMentalHealthRisk) {
+    }
+
+    default void onRecommendations(String searchQuery, List<MonthlyReportDto.RecommendationDto> recommendations) {
+    }
+
+    default void onOverview(String oneLineSummary, String overview) {
+    }
+}
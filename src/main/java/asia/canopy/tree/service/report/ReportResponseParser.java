@@ -0,0 +1,150 @@
+package asia.canopy.tree.service.report;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 단계별 Gemini 응답 텍스트를 결과 레코드로 변환합니다.
+ * 정규식이나 split 없이 텍스트를 한 번만 훑으며, 줄 단위 처리는 원문의 인덱스 범위로 수행합니다.
+ */
+@Slf4j
+public final class ReportResponseParser {
+
+    private static final String RISK_YES = "[MENTAL_HEALTH_RISK: YES]";
+    private static final String RISK_NO = "[MENTAL_HEALTH_RISK: NO]";
+    private static final String ONE_LINE_SUMMARY = "ONE_LINE_SUMMARY:";
+    private static final String PARAGRAPH_SUMMARY = "PARAGRAPH_SUMMARY:";
+
+    private ReportResponseParser() {
+    }
+
+    /**
+     * 감정 분석 응답을 파싱합니다.
+     * 글머리 기호(-, *, •)로 시작하는 앞부분의 줄은 키워드, 그 뒤의 줄은 요약으로 처리합니다.
+     */
+    public static EmotionAnalysis parseEmotion(String text) {
+        List<String> keywords = new ArrayList<>(5);
+        StringBuilder summary = new StringBuilder(text.length());
+        boolean inKeywords = true;
+
+        int length = text.length();
+        int lineStart = 0;
+        while (lineStart <= length) {
+            int lineEnd = lineEnd(text, lineStart);
+            int start = skipWhitespace(text, lineStart, lineEnd);
+            int end = trimEnd(text, start, lineEnd);
+
+            if (start < end) {
+                char first = text.charAt(start);
+                if (first == '-' || first == '*' || first == '•') {
+                    if (inKeywords) {
+                        int keywordStart = skipWhitespace(text, start + 1, end);
+                        keywords.add(text.substring(keywordStart, end));
+                    }
+                } else {
+                    // 글머리 기호 없는 줄은 요약으로 처리
+                    inKeywords = false;
+                    if (!summary.isEmpty()) {
+                        summary.append(' ');
+                    }
+                    summary.append(text, start, end);
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+
+        // 키워드가 3-5개가 아닌 경우 로그 출력
+        if (keywords.size() < 3 || keywords.size() > 5) {
+            log.warn("감정 키워드 수가 예상과 다릅니다: {}", keywords.size());
+        }
+        return new EmotionAnalysis(keywords, summary.toString());
+    }
+
+    /**
+     * 위험 분석 응답을 파싱합니다. 위험 여부 표시([MENTAL_HEALTH_RISK: YES/NO])는 본문에서 제거합니다.
+     */
+    public static RiskAnalysis parseRisk(String text) {
+        boolean hasRisk = false;
+        StringBuilder analysis = new StringBuilder(text.length());
+
+        int copyFrom = 0;
+        int index = text.indexOf('[');
+        while (index >= 0) {
+            if (text.startsWith(RISK_YES, index)) {
+                hasRisk = true;
+                analysis.append(text, copyFrom, index);
+                copyFrom = index + RISK_YES.length();
+            } else if (text.startsWith(RISK_NO, index)) {
+                analysis.append(text, copyFrom, index);
+                copyFrom = index + RISK_NO.length();
+            }
+            index = text.indexOf('[', index + 1);
+        }
+        analysis.append(text, copyFrom, text.length());
+
+        int start = skipWhitespace(analysis, 0, analysis.length());
+        int end = trimEnd(analysis, start, analysis.length());
+        return new RiskAnalysis(analysis.substring(start, end), hasRisk);
+    }
+
+    /**
+     * 체크업 추천 응답(검색어 한 줄)을 파싱합니다.
+     */
+    public static CheckupSuggestion parseCheckup(String text) {
+        return new CheckupSuggestion(text.trim());
+    }
+
+    /**
+     * 개요 요약 응답을 파싱합니다.
+     * ONE_LINE_SUMMARY: 줄은 한 줄 요약, PARAGRAPH_SUMMARY: 줄과 그 뒤의 줄은 개요로 처리합니다.
+     */
+    public static OverviewSummary parseOverview(String text) {
+        String oneLineSummary = "";
+        StringBuilder paragraphSummary = new StringBuilder(text.length());
+
+        int length = text.length();
+        int lineStart = 0;
+        while (lineStart <= length) {
+            int lineEnd = lineEnd(text, lineStart);
+            int start = skipWhitespace(text, lineStart, lineEnd);
+            int end = trimEnd(text, start, lineEnd);
+
+            if (start < end) {
+                if (text.startsWith(ONE_LINE_SUMMARY, start)) {
+                    int valueStart = skipWhitespace(text, start + ONE_LINE_SUMMARY.length(), end);
+                    oneLineSummary = text.substring(valueStart, end);
+                } else if (text.startsWith(PARAGRAPH_SUMMARY, start)) {
+                    int valueStart = skipWhitespace(text, start + PARAGRAPH_SUMMARY.length(), end);
+                    paragraphSummary.append(text, valueStart, end);
+                } else if (!paragraphSummary.isEmpty()) {
+                    paragraphSummary.append(' ').append(text, start, end);
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+
+        return new OverviewSummary(oneLineSummary, paragraphSummary.toString());
+    }
+
+    private static int lineEnd(String text, int from) {
+        int newline = text.indexOf('\n', from);
+        return newline < 0 ? text.length() : newline;
+    }
+
+    // String.trim()과 같은 기준 (코드 값 0x20 이하를 공백으로 처리)
+    private static int skipWhitespace(CharSequence text, int from, int to) {
+        while (from < to && text.charAt(from) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimEnd(CharSequence text, int from, int to) {
+        while (to > from && text.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+}
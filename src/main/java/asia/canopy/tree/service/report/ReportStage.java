@@ -0,0 +1,18 @@
+package asia.canopy.tree.service.report;
+
+/**
+ * 월간 리포트 생성 파이프라인의 단계
+ */
+public enum ReportStage {
+    EMOTION,
+    RISK,
+    CHECKUP,
+    SEARCH,
+    OVERVIEW,
+    WEEKLY_SUMMARY,
+    COMBINED,
+    // 저장된 월간 리포트를 모아 만드는 기간 추세 요약 (월간 파이프라인에는 포함되지 않음)
+    TREND,
+    // 분석 스크립트 실행 (LLM 호출 없음)
+    SCRIPTS
+}
@@ -0,0 +1,83 @@
+package asia.canopy.tree.service.report;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리포트 파이프라인 단계를 가상 스레드에서 실행합니다.
+ * 단계 간 의존 관계는 CompletableFuture 조합으로 표현하고, 단계별 소요 시간은
+ * report.stage.duration 타이머와 {@link ReportStageTimings}에 기록합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReportStageExecutor implements DisposableBean {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 단계를 비동기로 실행합니다.
+     */
+    public <T> CompletableFuture<T> submit(ReportStage stage, ReportStageTimings timings, Callable<T> task) {
+        return CompletableFuture.supplyAsync(() -> runTimed(stage, timings, task), executor);
+    }
+
+    /**
+     * 단계 결과를 기다리고, 실패한 경우 원래 예외를 그대로 던집니다.
+     */
+    public <T> T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 파이프라인 전체 소요 시간을 기록합니다.
+     */
+    public void recordPipeline(ReportStageTimings timings) {
+        Timer.builder("report.pipeline.duration")
+                .register(meterRegistry)
+                .record(timings.getTotalMillis(), TimeUnit.MILLISECONDS);
+        log.info("리포트 파이프라인 단계별 소요 시간: {}", timings);
+    }
+
+    private <T> T runTimed(ReportStage stage, ReportStageTimings timings, Callable<T> task) {
+        long start = System.nanoTime();
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        } finally {
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            timings.record(stage, elapsed);
+            Timer.builder("report.stage.duration")
+                    .tag("stage", stage.name().toLowerCase())
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
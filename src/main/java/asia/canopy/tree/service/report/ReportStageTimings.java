@@ -0,0 +1,37 @@
+package asia.canopy.tree.service.report;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 리포트 한 건을 생성하는 동안 단계별 소요 시간을 기록합니다.
+ */
+public class ReportStageTimings {
+
+    private final long startedAt = System.nanoTime();
+    private final Map<ReportStage, Long> elapsedMillis = new EnumMap<>(ReportStage.class);
+
+    synchronized void record(ReportStage stage, long millis) {
+        elapsedMillis.put(stage, millis);
+    }
+
+    public synchronized Map<ReportStage, Long> getElapsedMillis() {
+        return new EnumMap<>(elapsedMillis);
+    }
+
+    /**
+     * 파이프라인 시작 이후 경과 시간 (임계 경로 길이)
+     */
+    public long getTotalMillis() {
+        return (System.nanoTime() - startedAt) / 1_000_000;
+    }
+
+    @Override
+    public String toString() {
+        String stages = getElapsedMillis().entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue() + "ms")
+                .collect(Collectors.joining(", "));
+        return stages + ", 전체=" + getTotalMillis() + "ms";
+    }
+}
@@ -0,0 +1,10 @@
+package asia.canopy.tree.service.report;
+
+/**
+ * 정신 건강 위험 분석 단계 결과
+ *
+ * @param analysis            위험 분석 (또는 격려) 문단
+ * @param hasMentalHealthRisk 위험 여부
+ */
+public record RiskAnalysis(String analysis, boolean hasMentalHealthRisk) {
+}
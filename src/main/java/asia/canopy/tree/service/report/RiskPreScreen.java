@@ -0,0 +1,98 @@
+package asia.canopy.tree.service.report;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 월간 리포트 생성 전에 일기 원문을 로컬 위험 단어 사전으로 검사합니다.
+ *
+ * report.risk-screen.mode
+ * - off: 사용하지 않음
+ * - assist (기본값): LLM 위험 분석은 그대로 실행하고, HIGH이면 위험 기준의 체크업 검색어를
+ *   위험 분석 응답을 기다리지 않고 미리 생성. 최종 위험 여부는 LLM 결과를 그대로 사용
+ * - gate: assist에 더해 LOW이면 LLM 위험 분석 호출을 생략하고, HIGH이면 LLM 결과와 관계없이 위험으로 표시
+ *   (위험으로 바꾼 경우 위험 분석 문단도 그에 맞는 문단으로 교체)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RiskPreScreen {
+
+    public enum Mode {
+        OFF, ASSIST, GATE
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${report.risk-screen.mode:assist}")
+    private String mode;
+
+    // "단어:가중치" 목록 (비어 있으면 기본 사전 사용)
+    @Value("${report.risk-screen.lexicon:}")
+    private String[] lexiconEntries;
+
+    @Value("${report.risk-screen.max-hits-per-term:3}")
+    private int maxHitsPerTerm;
+
+    @Value("${report.risk-screen.borderline-threshold:2}")
+    private double borderlineThreshold;
+
+    @Value("${report.risk-screen.high-threshold:6}")
+    private double highThreshold;
+
+    // HIGH 판정에 필요한 단어 가중치 (이 가중치 이상인 단어가 하나 이상 있어야 HIGH)
+    @Value("${report.risk-screen.severe-weight:3}")
+    private int severeWeight;
+
+    private Mode screenMode;
+    private RiskScreener screener;
+
+    @PostConstruct
+    void init() {
+        screenMode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        Map<String, Integer> lexicon = RiskScreener.parseLexicon(lexiconEntries);
+        if (lexicon.isEmpty()) {
+            lexicon = RiskScreener.DEFAULT_LEXICON;
+        }
+        screener = new RiskScreener(lexicon, maxHitsPerTerm, borderlineThreshold, highThreshold, severeWeight);
+        log.info("위험 사전 검사 설정: 모드={}, 단어 수={}", screenMode, lexicon.size());
+    }
+
+    public Mode getMode() {
+        return screenMode;
+    }
+
+    /**
+     * LOW 구간에서 LLM 위험 분석을 생략하는지 여부
+     */
+    public boolean skipsLowRisk() {
+        return screenMode == Mode.GATE;
+    }
+
+    /**
+     * HIGH 구간에서 LLM 판단과 관계없이 위험으로 표시하는지 여부
+     */
+    public boolean forcesHighRisk() {
+        return screenMode == Mode.GATE;
+    }
+
+    /**
+     * 일기 원문을 검사합니다. off 모드이면 NONE을 반환합니다.
+     */
+    public RiskScreenResult screen(CharSequence diaryText) {
+        if (screenMode == Mode.OFF) {
+            return RiskScreenResult.NONE;
+        }
+        RiskScreenResult result = screener.screen(diaryText);
+        meterRegistry.counter("report.risk_screen", "level", result.level().name()).increment();
+        log.debug("위험 사전 검사: 점수={}, 구간={}, 단어={}", result.score(), result.level(), result.matchedTerms().keySet());
+        return result;
+    }
+}
@@ -0,0 +1,28 @@
+package asia.canopy.tree.service.report;
+
+import java.util.Map;
+
+/**
+ * 로컬 위험 사전 검사 결과
+ *
+ * @param score        가중치 합산 점수
+ * @param level        점수 구간
+ * @param matchedTerms 발견된 단어별 등장 횟수
+ */
+public record RiskScreenResult(double score, Level level, Map<String, Integer> matchedTerms) {
+
+    public static final RiskScreenResult NONE = new RiskScreenResult(0, Level.LOW, Map.of());
+
+    public enum Level {
+        // 위험 단어가 거의 없음
+        LOW,
+        // LLM 판단이 필요한 구간
+        BORDERLINE,
+        // 자해/자살 관련 단어를 포함해 위험 단어가 많음
+        HIGH
+    }
+
+    public boolean isHigh() {
+        return level == Level.HIGH;
+    }
+}
@@ -0,0 +1,100 @@
+package asia.canopy.tree.service.report;
+
+import java.util.*;
+
+/**
+ * 위험 단어 사전으로 일기 텍스트를 검사해 점수를 매깁니다.
+ * 점수는 단어별 (가중치 x 등장 횟수)의 합이며, 한 단어의 등장 횟수는 maxHitsPerTerm까지만 셉니다.
+ * HIGH는 점수가 highThreshold 이상이면서 가중치가 severeWeight 이상인 단어(자해/자살 관련)가 하나 이상 있을 때만 판정합니다.
+ * 일반적인 고통 표현만으로는 점수가 높아도 BORDERLINE까지만 올라갑니다.
+ */
+public final class RiskScreener {
+
+    /**
+     * 기본 위험 단어 사전 (단어 -> 가중치)
+     * 3: 자해/자살 관련, 2: 절망감/무가치감, 1: 우울/불안 등 일반적인 고통 표현
+     * 한국어는 활용형을 모두 잡도록 어간까지만 등록합니다.
+     */
+    public static final Map<String, Integer> DEFAULT_LEXICON = Map.ofEntries(
+            Map.entry("자살", 3), Map.entry("죽고 싶", 3), Map.entry("자해", 3), Map.entry("죽어버리", 3),
+            Map.entry("목숨을 끊", 3), Map.entry("살고 싶지 않", 3),
+            Map.entry("suicide", 3), Map.entry("suicidal", 3), Map.entry("kill myself", 3),
+            Map.entry("end my life", 3), Map.entry("self-harm", 3), Map.entry("want to die", 3),
+            Map.entry("사라지고 싶", 2), Map.entry("희망이 없", 2), Map.entry("살기 싫", 2), Map.entry("쓸모없", 2),
+            Map.entry("아무 의미 없", 2), Map.entry("나 같은 건", 2),
+            Map.entry("hopeless", 2), Map.entry("worthless", 2), Map.entry("no reason to live", 2),
+            Map.entry("want to disappear", 2), Map.entry("better off without me", 2),
+            Map.entry("우울", 1), Map.entry("불안", 1), Map.entry("외로", 1), Map.entry("공황", 1),
+            Map.entry("무기력", 1), Map.entry("잠이 안", 1), Map.entry("불면", 1), Map.entry("지쳤", 1),
+            Map.entry("눈물", 1),
+            Map.entry("depressed", 1), Map.entry("anxious", 1), Map.entry("lonely", 1), Map.entry("panic", 1),
+            Map.entry("insomnia", 1), Map.entry("exhausted", 1), Map.entry("crying", 1));
+
+    private final AhoCorasickMatcher matcher;
+    private final int[] weights;
+    private final int maxHitsPerTerm;
+    private final double borderlineThreshold;
+    private final double highThreshold;
+    private final int severeWeight;
+
+    public RiskScreener(Map<String, Integer> lexicon, int maxHitsPerTerm,
+                        double borderlineThreshold, double highThreshold, int severeWeight) {
+        List<String> terms = new ArrayList<>(lexicon.keySet());
+        this.matcher = new AhoCorasickMatcher(terms);
+        this.weights = new int[terms.size()];
+        for (int i = 0; i < terms.size(); i++) {
+            weights[i] = lexicon.get(terms.get(i));
+        }
+        this.maxHitsPerTerm = maxHitsPerTerm;
+        this.borderlineThreshold = borderlineThreshold;
+        this.highThreshold = highThreshold;
+        this.severeWeight = severeWeight;
+    }
+
+    /**
+     * "단어:가중치" 형식의 항목으로 사전을 만듭니다. 가중치를 생략하면 1입니다.
+     */
+    public static Map<String, Integer> parseLexicon(String[] entries) {
+        Map<String, Integer> lexicon = new LinkedHashMap<>();
+        for (String entry : entries) {
+            if (entry == null || entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf(':');
+            if (separator < 0) {
+                lexicon.put(entry.trim(), 1);
+            } else {
+                try {
+                    lexicon.put(entry.substring(0, separator).trim(), Integer.parseInt(entry.substring(separator + 1).trim()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("위험 단어 가중치가 올바르지 않습니다: " + entry, e);
+                }
+            }
+        }
+        return lexicon;
+    }
+
+    /**
+     * 텍스트를 한 번 순회하여 점수와 발견된 단어를 계산합니다.
+     */
+    public RiskScreenResult screen(CharSequence text) {
+        int[] counts = matcher.countMatches(text);
+
+        double score = 0;
+        boolean severe = false;
+        Map<String, Integer> matchedTerms = new LinkedHashMap<>();
+        List<String> terms = matcher.patterns();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                score += (double) weights[i] * Math.min(counts[i], maxHitsPerTerm);
+                matchedTerms.put(terms.get(i), counts[i]);
+                severe |= weights[i] >= severeWeight;
+            }
+        }
+
+        RiskScreenResult.Level level = severe && score >= highThreshold ? RiskScreenResult.Level.HIGH
+                : score >= borderlineThreshold ? RiskScreenResult.Level.BORDERLINE
+                : RiskScreenResult.Level.LOW;
+        return new RiskScreenResult(score, level, matchedTerms);
+    }
+}
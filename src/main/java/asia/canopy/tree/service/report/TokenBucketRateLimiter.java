@@ -0,0 +1,48 @@
+package asia.canopy.tree.service.report;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 초당 허용량과 버스트 크기를 가진 토큰 버킷 방식의 속도 제한기
+ * 허용량을 넘는 요청은 다음 토큰이 채워질 때까지 호출 스레드를 대기시킵니다.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long intervalNanos;
+    private final long maxBurstNanos;
+
+    // 다음 요청이 대기 없이 실행될 수 있는 시각
+    private long nextFreeNanos;
+
+    /**
+     * @param permitsPerSecond 초당 허용량
+     * @param burst            쉬고 있던 동안 모아둘 수 있는 최대 허용량
+     */
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.maxBurstNanos = intervalNanos * Math.max(burst, 1);
+        this.nextFreeNanos = System.nanoTime();
+    }
+
+    /**
+     * 허용량을 받을 때까지 대기합니다.
+     *
+     * @param permits 필요한 허용량
+     */
+    public void acquire(int permits) throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            // 쉬고 있던 시간만큼 버스트 허용 (최대 maxBurstNanos)
+            long start = Math.max(nextFreeNanos, now - maxBurstNanos);
+            nextFreeNanos = start + intervalNanos * permits;
+            waitNanos = start - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
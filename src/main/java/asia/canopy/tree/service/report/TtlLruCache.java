@@ -0,0 +1,64 @@
+package asia.canopy.tree.service.report;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 크기 제한(LRU)과 항목별 만료 시간(TTL)을 가진 메모리 캐시
+ *
+ * @param <K> 키 타입
+ * @param <V> 값 타입
+ */
+public class TtlLruCache<K, V> {
+
+    private final int maxEntries;
+    private final Duration defaultTtl;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    public TtlLruCache(int maxEntries, Duration defaultTtl) {
+        this.maxEntries = maxEntries;
+        this.defaultTtl = defaultTtl;
+        // accessOrder = true: 조회할 때마다 최근 사용 순서로 이동
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > TtlLruCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 캐시된 값을 반환합니다. 없거나 만료되었으면 null을 반환합니다.
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() < System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    public void put(K key, V value) {
+        put(key, value, defaultTtl);
+    }
+
+    public synchronized void put(K key, V value, Duration ttl) {
+        entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,25 @@
+package asia.canopy.tree.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Accept-Encoding의 q 값을 반영해 gzip 전송 여부를 판단하는지 확인합니다.
+ */
+class MonthlyReportControllerTest {
+
+    @Test
+    void acceptsGzipByQuality() {
+        assertTrue(MonthlyReportController.acceptsGzip("gzip, deflate, br"));
+        assertTrue(MonthlyReportController.acceptsGzip("GZIP;q=0.5"));
+        assertTrue(MonthlyReportController.acceptsGzip("br, *;q=0.1"));
+
+        assertFalse(MonthlyReportController.acceptsGzip(null));
+        assertFalse(MonthlyReportController.acceptsGzip("identity"));
+        assertFalse(MonthlyReportController.acceptsGzip("gzip;q=0"));
+        assertFalse(MonthlyReportController.acceptsGzip("gzip;q=0.0, *"));
+        assertFalse(MonthlyReportController.acceptsGzip("*;q=0"));
+    }
+}
@@ -0,0 +1,107 @@
+package asia.canopy.tree.repository;
+
+import asia.canopy.tree.domain.MonthlyReport;
+import asia.canopy.tree.domain.User;
+import asia.canopy.tree.dto.MonthlyReportDto;
+import asia.canopy.tree.dto.StoredReportPayload;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * GET /api/report/monthly 의 저장된 리포트 조회 경로가 SQL 한 번으로 끝나는지 확인합니다.
+ * (직렬화된 본문 조회와, 본문이 없는 이전 리포트의 엔티티 조회)
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reports;NON_KEYWORDS=YEAR,MONTH",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MonthlyReportReadQueryCountTest {
+
+    @Autowired
+    private MonthlyReportRepository monthlyReportRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void storedReportIsReadWithSingleStatement() {
+        User user = persistReport();
+        Statistics statistics = clearedStatistics();
+
+        Optional<MonthlyReportDto> dto = monthlyReportRepository
+                .findByUserUserIdAndYearAndMonth(user.getUserId(), 2025, 3)
+                .map(MonthlyReportDto::fromEntity);
+
+        assertTrue(dto.isPresent());
+        assertEquals(List.of("기쁨", "불안"), dto.get().getEmotionKeywords());
+        assertEquals(2, dto.get().getRecommendations().size());
+        assertEquals("https://example.com/2", dto.get().getRecommendations().get(1).getLink());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void storedPayloadIsReadWithSingleStatement() {
+        User user = persistReport();
+        Statistics statistics = clearedStatistics();
+
+        Optional<StoredReportPayload> payload = monthlyReportRepository.findPayload(user.getUserId(), 2025, 3);
+
+        assertTrue(payload.isPresent());
+        assertTrue(payload.get().isAvailable());
+        assertEquals("etag", payload.get().etag());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private User persistReport() {
+        User user = User.builder()
+                .email("reader@example.com")
+                .nickname("reader")
+                .build();
+        entityManager.persist(user);
+
+        MonthlyReport report = MonthlyReport.builder()
+                .user(user)
+                .year(2025)
+                .month(3)
+                .oneLineSummary("한 줄 요약")
+                .overview("개요")
+                .emotionKeywords(List.of("기쁨", "불안"))
+                .emotionSummary("감정 요약")
+                .riskAnalysis("위험 분석")
+                .searchQuery("상담")
+                .recommendations(List.of(
+                        new MonthlyReport.Recommendation("추천 1", "https://example.com/1"),
+                        new MonthlyReport.Recommendation("추천 2", "https://example.com/2")))
+                .payload("{}".getBytes(StandardCharsets.UTF_8))
+                .payloadEncoding("identity")
+                .payloadEtag("etag")
+                .build();
+        entityManager.persist(report);
+        entityManager.flush();
+        entityManager.clear();
+        return user;
+    }
+
+    private Statistics clearedStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
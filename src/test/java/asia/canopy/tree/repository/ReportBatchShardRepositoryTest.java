@@ -0,0 +1,49 @@
+package asia.canopy.tree.repository;
+
+import asia.canopy.tree.domain.ReportBatchShard;
+import asia.canopy.tree.domain.ReportBatchShardStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 배치 재개 시 리스가 살아 있는 샤드는 다시 큐에 넣지 않는지 확인합니다.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:shards;NON_KEYWORDS=YEAR,MONTH")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ReportBatchShardRepositoryTest {
+
+    @Autowired
+    private ReportBatchShardRepository shardRepository;
+
+    @Test
+    void findClaimableSkipsShardsWithLiveLease() {
+        LocalDateTime now = LocalDateTime.now();
+        ReportBatchShard pending = save(0, ReportBatchShardStatus.PENDING, null);
+        save(1, ReportBatchShardStatus.RUNNING, now.plusMinutes(10));
+        ReportBatchShard expired = save(2, ReportBatchShardStatus.RUNNING, now.minusMinutes(1));
+        save(3, ReportBatchShardStatus.COMPLETED, null);
+
+        List<Long> claimable = shardRepository.findClaimable(now).stream().map(ReportBatchShard::getId).toList();
+
+        assertEquals(List.of(pending.getId(), expired.getId()), claimable);
+    }
+
+    private ReportBatchShard save(int shardIndex, ReportBatchShardStatus status, LocalDateTime leaseUntil) {
+        return shardRepository.save(ReportBatchShard.builder()
+                .year(2025)
+                .month(1)
+                .shardIndex(shardIndex)
+                .shardCount(4)
+                .status(status)
+                .owner(leaseUntil != null ? "node-a" : null)
+                .leaseUntil(leaseUntil)
+                .build());
+    }
+}
@@ -0,0 +1,95 @@
+package asia.canopy.tree.repository;
+
+import asia.canopy.tree.domain.ReportJob;
+import asia.canopy.tree.domain.ReportJobStatus;
+import asia.canopy.tree.domain.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 같은 사용자/월에 진행 중인 작업이 DB 제약으로 하나만 등록되고, 중단된 작업은 최대 실행 횟수까지만 재시도하는지 확인합니다.
+ * (제약 위반 후에도 다음 저장을 확인하기 위해 테스트 트랜잭션 없이 실행)
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:jobs;NON_KEYWORDS=YEAR,MONTH")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReportJobRepositoryTest {
+
+    private static final String ACTIVE_KEY = "1:2025-01";
+
+    @Autowired
+    private ReportJobRepository reportJobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("jobs@example.com")
+                .nickname("jobs")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        reportJobRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void onlyOneActiveJobPerMonth() {
+        ReportJob first = reportJobRepository.saveAndFlush(pendingJob());
+
+        assertThrows(DataIntegrityViolationException.class, () -> reportJobRepository.saveAndFlush(pendingJob()));
+
+        reportJobRepository.finish(first.getId(), ReportJobStatus.COMPLETED, null, LocalDateTime.now());
+        assertNotNull(reportJobRepository.saveAndFlush(pendingJob()).getId());
+    }
+
+    @Test
+    void staleJobFailsAfterMaxAttempts() {
+        Long jobId = reportJobRepository.saveAndFlush(pendingJob()).getId();
+        LocalDateTime startedAt = LocalDateTime.now().minusHours(1);
+        LocalDateTime staleBefore = LocalDateTime.now();
+
+        reportJobRepository.claim(jobId, startedAt);
+        assertEquals(1, reportJobRepository.requeueStale(staleBefore, 2));
+        assertEquals(0, reportJobRepository.failExhausted(staleBefore, 2, "exhausted", staleBefore));
+
+        reportJobRepository.claim(jobId, startedAt);
+        assertEquals(0, reportJobRepository.requeueStale(staleBefore, 2));
+        assertEquals(1, reportJobRepository.failExhausted(staleBefore, 2, "exhausted", staleBefore));
+
+        ReportJob job = reportJobRepository.findById(jobId).orElseThrow();
+        assertEquals(ReportJobStatus.FAILED, job.getStatus());
+        assertEquals(2, job.getAttempts());
+        assertNull(job.getActiveKey());
+    }
+
+    private ReportJob pendingJob() {
+        return ReportJob.builder()
+                .user(user)
+                .year(2025)
+                .month(1)
+                .status(ReportJobStatus.PENDING)
+                .activeKey(ACTIVE_KEY)
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package asia.canopy.tree.service;
+
+import asia.canopy.tree.domain.DailyEmotionScore;
+import asia.canopy.tree.repository.DailyEmotionScoreRepository;
+import asia.canopy.tree.repository.DiaryRepository;
+import asia.canopy.tree.service.emotion.DiarySentimentScorer;
+import asia.canopy.tree.service.report.ReportLeaseManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyShort;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 재계산 중 한 날짜가 실패해도 나머지 날짜를 계속 처리하고, 리스가 없으면 실행하지 않는지 확인합니다.
+ */
+class DiaryEmotionServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 1, 1);
+
+    private final DiaryRepository diaryRepository = mock(DiaryRepository.class);
+    private final DailyEmotionScoreRepository scoreRepository = mock(DailyEmotionScoreRepository.class);
+    private final ReportLeaseManager leaseManager = mock(ReportLeaseManager.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final DiaryEmotionService service = new DiaryEmotionService(diaryRepository, scoreRepository,
+            new DiarySentimentScorer(), new TransactionTemplate(transactionManager), leaseManager);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "rescoreBatchSize", 10);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(scoreRepository.findOutdated(anyShort(), anyLong(), any())).thenReturn(List.of(
+                DailyEmotionScore.builder().id(1L).userId(1L).scoreDate(DATE).build(),
+                DailyEmotionScore.builder().id(2L).userId(2L).scoreDate(DATE).build()));
+    }
+
+    @Test
+    void continuesAfterFailedRow() {
+        when(leaseManager.tryAcquire(any())).thenReturn(true);
+        when(scoreRepository.findForUpdate(1L, DATE)).thenThrow(new IllegalStateException("broken row"));
+
+        service.rescoreOutdated();
+
+        verify(scoreRepository).deleteByUserIdAndScoreDate(2L, DATE);
+        verify(leaseManager).release(any());
+        assertEquals(2L, ReflectionTestUtils.getField(service, "rescoreCursor"));
+    }
+
+    @Test
+    void skipsWithoutLease() {
+        when(leaseManager.tryAcquire(any())).thenReturn(false);
+
+        service.rescoreOutdated();
+
+        verify(scoreRepository, never()).findOutdated(anyShort(), anyLong(), any());
+        verify(scoreRepository, never()).deleteByUserIdAndScoreDate(eq(2L), any());
+    }
+}
@@ -0,0 +1,102 @@
+package asia.canopy.tree.service;
+
+import asia.canopy.tree.domain.MonthlyReport;
+import asia.canopy.tree.domain.User;
+import asia.canopy.tree.repository.MonthlyReportRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JSON 컬럼으로 옮기기 전에 저장된 리포트의 목록 값을 이전 컬렉션 테이블에서 옮기는지 확인합니다.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:backfill;NON_KEYWORDS=YEAR,MONTH")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MonthlyReportLegacyBackfillTest {
+
+    @Autowired
+    private MonthlyReportRepository monthlyReportRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void copiesListsFromLegacyTables() {
+        jdbcTemplate.execute("CREATE TABLE " + MonthlyReportLegacyBackfill.KEYWORDS_TABLE +
+                " (report_id BIGINT NOT NULL, keyword VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE " + MonthlyReportLegacyBackfill.RECOMMENDATIONS_TABLE +
+                " (report_id BIGINT NOT NULL, title VARCHAR(255), link VARCHAR(255))");
+
+        Long legacyId = persistReport(2025, 1, null, null);
+        Long emptyLegacyId = persistReport(2025, 2, null, null);
+        Long currentId = persistReport(2025, 3, List.of("기쁨"), List.of());
+        // JSON 컬럼 추가 전에 저장된 리포트는 두 컬럼이 NULL
+        jdbcTemplate.update("UPDATE monthly_reports SET emotion_keywords = NULL, recommendations = NULL WHERE id IN (?, ?)",
+                legacyId, emptyLegacyId);
+        // 이전 테이블에는 순서 컬럼이 없으므로 삽입 순서와 관계없이 값 순서로 옮김
+        jdbcTemplate.update("INSERT INTO " + MonthlyReportLegacyBackfill.KEYWORDS_TABLE + " VALUES (?, ?), (?, ?)",
+                legacyId, "피곤", legacyId, "불안");
+        jdbcTemplate.update("INSERT INTO " + MonthlyReportLegacyBackfill.RECOMMENDATIONS_TABLE + " VALUES (?, ?, ?)",
+                legacyId, "추천", "https://example.com");
+
+        MonthlyReportLegacyBackfill backfill = new MonthlyReportLegacyBackfill(monthlyReportRepository,
+                new NamedParameterJdbcTemplate(jdbcTemplate), new TransactionTemplate(transactionManager), null);
+        ReflectionTestUtils.setField(backfill, "batchSize", 1);
+
+        assertEquals(2, backfill.backfill(true, true));
+        entityManager.flush();
+        entityManager.clear();
+
+        MonthlyReport legacy = monthlyReportRepository.findById(legacyId).orElseThrow();
+        assertEquals(List.of("불안", "피곤"), legacy.getEmotionKeywords());
+        assertEquals(1, legacy.getRecommendations().size());
+        assertEquals("https://example.com", legacy.getRecommendations().get(0).getLink());
+
+        MonthlyReport emptyLegacy = monthlyReportRepository.findById(emptyLegacyId).orElseThrow();
+        assertTrue(emptyLegacy.getEmotionKeywords().isEmpty());
+        assertTrue(emptyLegacy.getRecommendations().isEmpty());
+
+        assertEquals(List.of("기쁨"), monthlyReportRepository.findById(currentId).orElseThrow().getEmotionKeywords());
+        assertTrue(monthlyReportRepository.findIdsWithoutListColumns(0L,
+                PageRequest.of(0, 10)).isEmpty());
+    }
+
+    private Long persistReport(int year, int month, List<String> keywords,
+                               List<MonthlyReport.Recommendation> recommendations) {
+        User user = User.builder()
+                .email("legacy" + month + "@example.com")
+                .nickname("legacy" + month)
+                .build();
+        entityManager.persist(user);
+
+        MonthlyReport report = MonthlyReport.builder()
+                .user(user)
+                .year(year)
+                .month(month)
+                .emotionKeywords(keywords)
+                .recommendations(recommendations)
+                .build();
+        entityManager.persist(report);
+        entityManager.flush();
+        return report.getId();
+    }
+}
@@ -0,0 +1,69 @@
+package asia.canopy.tree.service;
+
+import asia.canopy.tree.domain.ReportJobStatus;
+import asia.canopy.tree.dto.PendingDiaryChange;
+import asia.canopy.tree.dto.ReportJobResponse;
+import asia.canopy.tree.repository.DiaryChangeEventRepository;
+import asia.canopy.tree.repository.MonthlyReportRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 진행 중인 리포트 작업이 있으면 일기 변경 이벤트를 처리한 것으로 남기지 않는지 확인합니다.
+ */
+class ReportRefreshServiceTest {
+
+    private final DiaryChangeEventRepository eventRepository = mock(DiaryChangeEventRepository.class);
+    private final MonthlyReportRepository monthlyReportRepository = mock(MonthlyReportRepository.class);
+    private final ReportJobService reportJobService = mock(ReportJobService.class);
+    private final ReportRefreshService refreshService = new ReportRefreshService(
+            eventRepository, monthlyReportRepository, reportJobService, new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshService, "enabled", true);
+        ReflectionTestUtils.setField(refreshService, "batchSize", 10);
+
+        LocalDateTime changedAt = LocalDateTime.now().minusMinutes(10);
+        when(eventRepository.findDue(any(), any(), any()))
+                .thenReturn(List.of(new PendingDiaryChange(1L, 2025, 1, changedAt, changedAt, 2L)));
+        when(eventRepository.claim(eq(1L), eq(2025), eq(1), any(), any())).thenReturn(2);
+        when(monthlyReportRepository.existsByUserUserIdAndYearAndMonth(1L, 2025, 1)).thenReturn(true);
+    }
+
+    @Test
+    void releasesClaimWhenJobIsAlreadyActive() {
+        when(reportJobService.submitIfIdle(1L, 2025, 1)).thenReturn(Optional.empty());
+
+        refreshService.poll();
+
+        verify(eventRepository).release(eq(1L), eq(2025), eq(1), any());
+    }
+
+    @Test
+    void keepsClaimWhenNewJobIsSubmitted() {
+        when(reportJobService.submitIfIdle(1L, 2025, 1)).thenReturn(Optional.of(ReportJobResponse.builder()
+                .jobId(10L)
+                .status(ReportJobStatus.PENDING)
+                .build()));
+
+        refreshService.poll();
+
+        verify(eventRepository, never()).release(anyLong(), anyInt(), anyInt(), any());
+    }
+}
@@ -0,0 +1,40 @@
+package asia.canopy.tree.service.emotion;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DiarySentimentScorerTest {
+
+    private final DiarySentimentScorer scorer = new DiarySentimentScorer();
+
+    @Test
+    void neutralEnglishTextScoresZero() {
+        assertEquals(0f, scorer.score("It was a day at the park"));
+        assertEquals(0f, scorer.score("We walked all over town"));
+        assertEquals(0f, scorer.score("Japan ice cream"));
+    }
+
+    @Test
+    void emotionWordsSetTheSign() {
+        assertTrue(scorer.score("I was so happy and grateful today") > 0);
+        assertTrue(scorer.score("I felt sad and lonely all evening") < 0);
+        assertTrue(scorer.score("오늘은 정말 행복했고 즐거웠다") > 0);
+        assertTrue(scorer.score("하루 종일 우울하고 불안했다") < 0);
+    }
+
+    @Test
+    void negatedPositiveWordsScoreNegative() {
+        assertTrue(scorer.score("기분이 안 좋았다") < 0);
+        assertTrue(scorer.score("I am not happy") < 0);
+    }
+
+    @Test
+    void scoreStaysWithinRange() {
+        float score = scorer.score("happy happy happy happy happy happy happy");
+        assertTrue(score > 0.9f && score < 1f);
+        assertEquals(0f, scorer.score(""));
+        assertEquals(0f, scorer.score(null));
+    }
+}
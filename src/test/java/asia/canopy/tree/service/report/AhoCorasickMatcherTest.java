@@ -0,0 +1,65 @@
+package asia.canopy.tree.service.report;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 공백 처리와 단어 경계 규칙을 확인합니다.
+ */
+class AhoCorasickMatcherTest {
+
+    @Test
+    void latinTermsDoNotMatchAcrossWords() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("sad", "love", "panic"));
+
+        assertArrayEquals(new int[]{0, 0, 0}, matcher.countMatches("It was a day at the park"));
+        assertArrayEquals(new int[]{0, 0, 0}, matcher.countMatches("We walked all over town"));
+        assertArrayEquals(new int[]{0, 0, 0}, matcher.countMatches("Japan ice cream"));
+    }
+
+    @Test
+    void latinTermsRequireWordBoundaries() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("sad", "love"));
+
+        assertArrayEquals(new int[]{0, 0}, matcher.countMatches("sadness glove lovely"));
+        assertArrayEquals(new int[]{2, 1}, matcher.countMatches("Sad, so sad. I love it!"));
+        assertArrayEquals(new int[]{1, 1}, matcher.countMatches("슬픈 sad 그리고 love했다"));
+    }
+
+    @Test
+    void multiWordLatinTermsMatchWithAnySpacing() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("kill myself", "self-harm"));
+
+        assertArrayEquals(new int[]{1, 0}, matcher.countMatches("I want to kill   myself"));
+        assertArrayEquals(new int[]{0, 0}, matcher.countMatches("killmyself"));
+        assertArrayEquals(new int[]{0, 1}, matcher.countMatches("thoughts of Self-Harm."));
+    }
+
+    @Test
+    void spacesBetweenHangulAreIgnored() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("죽고 싶", "불안"));
+
+        assertArrayEquals(new int[]{2, 0}, matcher.countMatches("죽고싶다. 정말 죽고  싶어"));
+        assertArrayEquals(new int[]{0, 2}, matcher.countMatches("불　안했고 불안했다"));
+    }
+
+    @Test
+    void lineBreaksSeparateTerms() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("죽고 싶", "not good"));
+
+        assertArrayEquals(new int[]{0, 0}, matcher.countMatches("죽고\n싶은 것은 없다. not\ngood"));
+    }
+
+    @Test
+    void overlappingTermsAreAllCounted() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("안 좋", "좋"));
+
+        int[] counts = matcher.countMatches("기분이 안 좋았다");
+        assertEquals(1, counts[0]);
+        assertEquals(1, counts[1]);
+    }
+}
@@ -0,0 +1,62 @@
+package asia.canopy.tree.service.report;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 시간을 넘긴 실행 수가 한도에 도달하면 엔진을 중지하고, 실행이 끝나면 다시 사용하는지 확인합니다.
+ */
+class AnalysisScriptEngineTest {
+
+    private final AnalysisScriptEngine engine = new AnalysisScriptEngine(new SimpleMeterRegistry());
+
+    @TempDir
+    Path scriptDir;
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void suspendsWhileLeakedExecutionsReachLimit() throws Exception {
+        Files.writeString(scriptDir.resolve("slow.py"), String.join("\n",
+                "import time",
+                "end = time.time() + 1.0",
+                "while time.time() < end:",
+                "    pass",
+                "result = {'done': True}"));
+        ReflectionTestUtils.setField(engine, "enabled", true);
+        ReflectionTestUtils.setField(engine, "scriptDir", scriptDir.toString());
+        ReflectionTestUtils.setField(engine, "poolSize", 1);
+        ReflectionTestUtils.setField(engine, "timeoutMillis", 100L);
+        ReflectionTestUtils.setField(engine, "maxLeaked", 1);
+        engine.init();
+        assertTrue(engine.isEnabled());
+
+        Map<String, Object> insights = engine.runAll("diary", List.of(Map.of("day", "1", "morning", "text")));
+
+        assertTrue(insights.isEmpty());
+        assertEquals(1, engine.getLeakedExecutions());
+        assertFalse(engine.isEnabled());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (engine.getLeakedExecutions() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, engine.getLeakedExecutions());
+        assertTrue(engine.isEnabled());
+    }
+}
@@ -0,0 +1,79 @@
+package asia.canopy.tree.service.report;
+
+import asia.canopy.tree.exception.BadRequestException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 서비스 상태와 무관한 오류는 서킷 브레이커를 열지 않고, Retry-After를 읽는지 확인합니다.
+ */
+class ExternalCallGuardTest {
+
+    private final ExternalCallGuard guard = new ExternalCallGuard(new MockEnvironment()
+            .withProperty("resilience.test.minimum-calls", "2")
+            .withProperty("resilience.test.max-attempts", "1"), new SimpleMeterRegistry());
+
+    @Test
+    void clientErrorsDoNotOpenCircuit() {
+        for (int i = 0; i < 5; i++) {
+            assertThrows(HttpClientErrorException.class, () -> guard.execute("test", () -> {
+                throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "not found", HttpHeaders.EMPTY,
+                        null, StandardCharsets.UTF_8);
+            }));
+            assertThrows(BadRequestException.class, () -> guard.execute("test", () -> {
+                throw new BadRequestException("API 응답을 파싱할 수 없습니다.");
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getState("test"));
+    }
+
+    @Test
+    void serverErrorsAndTimeoutsOpenCircuit() {
+        assertThrows(HttpServerErrorException.class, () -> guard.execute("test", () -> {
+            throw HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "bad gateway", HttpHeaders.EMPTY,
+                    null, StandardCharsets.UTF_8);
+        }));
+        assertThrows(ResourceAccessException.class, () -> guard.execute("test", () -> {
+            throw new ResourceAccessException("read timed out");
+        }));
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.getState("test"));
+    }
+
+    @Test
+    void halfOpenPermitIsReturnedAfterError() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 1, 0.5, 0, 1);
+        breaker.onFailure();
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+        breaker.releasePermission();
+
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void readsRetryAfterSeconds() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "3");
+
+        long retryAfter = ExternalCallGuard.retryAfterMillis(HttpClientErrorException.create(
+                HttpStatus.TOO_MANY_REQUESTS, "too many", headers, null, StandardCharsets.UTF_8));
+
+        assertEquals(3000L, retryAfter);
+    }
+}
@@ -0,0 +1,67 @@
+package asia.canopy.tree.service.report;
+
+import asia.canopy.tree.repository.GeminiResponseCacheRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class GeminiResponseCacheTest {
+
+    private final GeminiResponseCacheRepository repository = mock(GeminiResponseCacheRepository.class);
+    private final GeminiResponseCache cache =
+            new GeminiResponseCache(repository, new SimpleMeterRegistry(), new ObjectMapper());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxEntries", 10);
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 60L);
+        cache.init();
+    }
+
+    @Test
+    void generationConfigIsPartOfKey() {
+        cache.put("gemini", "v1", "prompt", Map.of("temperature", 0.2), "cold");
+
+        assertEquals("cold", cache.get("gemini", "v1", "prompt", Map.of("temperature", 0.2)));
+        assertNull(cache.get("gemini", "v1", "prompt", Map.of("temperature", 0.9)));
+        assertNull(cache.get("gemini", "v1", "prompt", null));
+    }
+
+    @Test
+    void configKeyIgnoresMapOrder() {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("responseMimeType", "application/json");
+        first.put("temperature", 0.2);
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("temperature", 0.2);
+        second.put("responseMimeType", "application/json");
+
+        cache.put("gemini", "v1", "prompt", first, "json");
+
+        assertEquals("json", cache.get("gemini", "v1", "prompt", second));
+    }
+
+    @Test
+    void cleanupPurgesOnlyWhenPersistent() {
+        cache.cleanup();
+        verify(repository, never()).deleteExpired(any(LocalDateTime.class));
+
+        ReflectionTestUtils.setField(cache, "persistent", true);
+        cache.cleanup();
+        verify(repository).deleteExpired(any(LocalDateTime.class));
+    }
+}
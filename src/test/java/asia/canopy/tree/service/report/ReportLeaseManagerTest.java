@@ -0,0 +1,71 @@
+package asia.canopy.tree.service.report;
+
+import asia.canopy.tree.repository.ReportLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 보유 중인 리스를 heartbeat로 연장하고, 잃은 리스를 감지하는지 확인합니다.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:leases;NON_KEYWORDS=YEAR,MONTH")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ReportLeaseManagerTest {
+
+    private static final String KEY = "report:1:2025-01";
+
+    @Autowired
+    private ReportLeaseRepository leaseRepository;
+
+    private ReportLeaseManager leaseManager;
+
+    @BeforeEach
+    void setUp() {
+        leaseManager = new ReportLeaseManager(leaseRepository);
+        ReflectionTestUtils.setField(leaseManager, "ttlSeconds", 300L);
+    }
+
+    @Test
+    void heartbeatExtendsExpiredLease() {
+        assertTrue(leaseManager.tryAcquire(KEY));
+        expire(leaseManager.getNodeId());
+        assertFalse(leaseManager.isOwned(KEY));
+
+        leaseManager.heartbeat();
+
+        assertTrue(leaseManager.isOwned(KEY));
+    }
+
+    @Test
+    void leaseTakenByAnotherNodeIsNotOwned() {
+        assertTrue(leaseManager.tryAcquire(KEY));
+        expire(leaseManager.getNodeId());
+        leaseRepository.takeOver(KEY, "other-node", LocalDateTime.now().plusMinutes(5), LocalDateTime.now());
+
+        leaseManager.heartbeat();
+
+        assertFalse(leaseManager.isOwned(KEY));
+        assertTrue(leaseManager.isHeld(KEY));
+    }
+
+    @Test
+    void releasedLeaseIsNotOwned() {
+        assertTrue(leaseManager.tryAcquire(KEY));
+
+        leaseManager.release(KEY);
+
+        assertFalse(leaseManager.isOwned(KEY));
+    }
+
+    private void expire(String owner) {
+        leaseRepository.renew(KEY, owner, LocalDateTime.now().minusSeconds(1));
+    }
+}
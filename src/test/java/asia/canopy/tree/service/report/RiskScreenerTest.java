@@ -0,0 +1,63 @@
+package asia.canopy.tree.service.report;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RiskScreenerTest {
+
+    private final RiskScreener screener = new RiskScreener(RiskScreener.DEFAULT_LEXICON, 3, 2, 6, 3);
+
+    @Test
+    void commonDistressWordsStayBorderline() {
+        RiskScreenResult result = screener.screen("불안했다. 불안했다. 불안했다.\n우울했다. 우울했다. 우울했다.");
+
+        assertEquals(6.0, result.score());
+        assertEquals(RiskScreenResult.Level.BORDERLINE, result.level());
+    }
+
+    @Test
+    void highRequiresSevereTerms() {
+        RiskScreenResult result = screener.screen("요즘 너무 우울하고 불안하다.\n그냥 죽고 싶다는 생각이 든다.\n자해를 생각했다.");
+
+        assertEquals(RiskScreenResult.Level.HIGH, result.level());
+        assertTrue(result.matchedTerms().containsKey("죽고 싶"));
+    }
+
+    @Test
+    void singleSevereTermBelowThresholdIsNotHigh() {
+        RiskScreenResult result = screener.screen("뉴스에서 자살 예방 캠페인을 봤다.");
+
+        assertEquals(3.0, result.score());
+        assertEquals(RiskScreenResult.Level.BORDERLINE, result.level());
+    }
+
+    @Test
+    void ordinaryEnglishTextIsLow() {
+        RiskScreenResult result = screener.screen("We had Japan ice cream after the campaign.\nIt was a day at the park.");
+
+        assertEquals(0.0, result.score());
+        assertEquals(RiskScreenResult.Level.LOW, result.level());
+        assertTrue(result.matchedTerms().isEmpty());
+    }
+
+    @Test
+    void hitsPerTermAreCapped() {
+        RiskScreenResult result = screener.screen("lonely lonely lonely lonely lonely");
+
+        assertEquals(3.0, result.score());
+        assertEquals(5, result.matchedTerms().get("lonely"));
+        assertFalse(result.isHigh());
+    }
+
+    @Test
+    void parsesLexiconEntries() {
+        Map<String, Integer> lexicon = RiskScreener.parseLexicon(new String[]{"자살:3", " hopeless ", "", "panic:1"});
+
+        assertEquals(Map.of("자살", 3, "hopeless", 1, "panic", 1), lexicon);
+    }
+}